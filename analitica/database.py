@@ -6,6 +6,11 @@ from typing import Optional, Dict, List
 # Base path for data files
 DATA_SOURCE_DIR = os.path.join(os.path.dirname(__file__), "data_source")
 
+# When set (e.g. http://localhost:8080/api/feed), tables are pulled gzipped from the backend feed
+# instead of read from DATA_SOURCE_DIR. The feed needs an ADMIN JWT in ACTIVOS_FEED_TOKEN.
+FEED_URL = os.getenv("ACTIVOS_FEED_URL")
+FEED_TOKEN = os.getenv("ACTIVOS_FEED_TOKEN")
+
 # Global cache for DataFrames
 _dataframes_cache: Dict[str, Optional[pd.DataFrame]] = {
     "users": None,
@@ -19,12 +24,17 @@ _dataframes_cache: Dict[str, Optional[pd.DataFrame]] = {
 
 def _load_csv(filename: str, required_columns: Optional[List[str]] = None) -> Optional[pd.DataFrame]:
     """Loads a CSV file into a pandas DataFrame."""
-    path = os.path.join(DATA_SOURCE_DIR, filename)
-    if not os.path.exists(path):
-        print(f"Warning: Data file {filename} not found at {path}")
-        return None
+    if FEED_URL:
+        path = f"{FEED_URL.rstrip('/')}/{filename}.gz"
+        storage_options = {"Authorization": f"Bearer {FEED_TOKEN}"} if FEED_TOKEN else None
+    else:
+        path = os.path.join(DATA_SOURCE_DIR, filename)
+        storage_options = None
+        if not os.path.exists(path):
+            print(f"Warning: Data file {filename} not found at {path}")
+            return None
     try:
-        df = pd.read_csv(path)
+        df = pd.read_csv(path, storage_options=storage_options)
         if required_columns:
             missing_cols = [col for col in required_columns if col not in df.columns]
             if missing_cols:
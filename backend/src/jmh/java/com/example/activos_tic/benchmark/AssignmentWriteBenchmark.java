@@ -0,0 +1,144 @@
+package com.example.activos_tic.benchmark;
+
+import com.example.activos_tic.domain.model.Employee;
+import com.example.activos_tic.domain.model.Hardware;
+import com.example.activos_tic.domain.repository.EmployeeRepository;
+import com.example.activos_tic.domain.repository.HardwareRepository;
+import com.example.activos_tic.dto.HardwareDto;
+import com.example.activos_tic.service.AssetSearchService;
+import com.example.activos_tic.service.AssetService;
+import com.example.activos_tic.service.DataVersionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating and updating hardware assigned to an employee, against H2: {@code *ByReference} is
+ * {@link AssetService} (a one-column name lookup and a reference that only carries the foreign key),
+ * {@code *LoadingEmployee} the previous write path, which read the whole employee row with findById
+ * to attach it. Creates rotate over 1000 employees, the way a bulk assignment does; updates keep the
+ * same employee and change the location. The {@code statements.norm} column of
+ * {@link HibernateStatementsProfiler} gives the statements per write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 8, time = 5) // The JIT takes a while over the whole Spring and Hibernate stack
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssignmentWriteBenchmark {
+
+    private static final int EMPLOYEES = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private AssetService assetService;
+    private AssetSearchService assetSearchService;
+    private DataVersionService dataVersionService;
+    private EmployeeRepository employeeRepository;
+    private HardwareRepository hardwareRepository;
+    private TransactionTemplate transaction;
+    private List<Long> employeeIds;
+    private Long updatedHardwareId;
+    private long writes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("assignment_write");
+        assetService = context.getBean(AssetService.class);
+        assetSearchService = context.getBean(AssetSearchService.class);
+        dataVersionService = context.getBean(DataVersionService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        hardwareRepository = context.getBean(HardwareRepository.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setName("Employee " + i);
+            employee.setDepartment("Department " + i % 12);
+            employee.setPosition("Analyst");
+            employees.add(employee);
+        }
+        employeeIds = employeeRepository.saveAll(employees).stream().map(Employee::getId).toList();
+        updatedHardwareId = assetService.createHardware(nextHardware()).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public HardwareDto createByReference() {
+        return assetService.createHardware(nextHardware());
+    }
+
+    @Benchmark
+    public HardwareDto createLoadingEmployee() {
+        HardwareDto dto = nextHardware();
+        return transaction.execute(status -> {
+            Hardware hardware = new Hardware();
+            hardware.setType(dto.getType());
+            hardware.setBrand(dto.getBrand());
+            hardware.setSerialNumber(dto.getSerialNumber());
+            hardware.setLocation(dto.getLocation());
+            hardware.setAssignedEmployee(employeeRepository.findById(dto.getAssignedEmployeeId()).orElseThrow());
+            return saved(hardwareRepository.save(hardware));
+        });
+    }
+
+    @Benchmark
+    public HardwareDto updateByReference() {
+        HardwareDto dto = assignedHardware(employeeIds.get(0));
+        return assetService.updateHardware(updatedHardwareId, dto);
+    }
+
+    @Benchmark
+    public HardwareDto updateLoadingEmployee() {
+        HardwareDto dto = assignedHardware(employeeIds.get(0));
+        return transaction.execute(status -> {
+            Hardware hardware = hardwareRepository.findById(updatedHardwareId).orElseThrow();
+            hardware.setType(dto.getType());
+            hardware.setBrand(dto.getBrand());
+            hardware.setSerialNumber(dto.getSerialNumber());
+            hardware.setLocation(dto.getLocation());
+            hardware.setAssignedEmployee(employeeRepository.findById(dto.getAssignedEmployeeId()).orElseThrow());
+            return saved(hardwareRepository.save(hardware));
+        });
+    }
+
+    // The same side effects and response as AssetService
+    private HardwareDto saved(Hardware hardware) {
+        assetSearchService.hardwareSaved(hardware);
+        dataVersionService.changed();
+        Employee employee = hardware.getAssignedEmployee();
+        return new HardwareDto(hardware.getId(), hardware.getType(), hardware.getBrand(), hardware.getSerialNumber(),
+                hardware.getLocation(), employee.getId(), employee.getName());
+    }
+
+    private HardwareDto nextHardware() {
+        return assignedHardware(employeeIds.get((int) (writes % EMPLOYEES)));
+    }
+
+    // A new serial and location on every write, so creates do not collide and updates always change the row
+    private HardwareDto assignedHardware(Long employeeId) {
+        long n = writes++;
+        return new HardwareDto(null, "Laptop", "Lenovo", "SN-" + n, "Floor " + n % 12, employeeId, null);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.activos_tic.benchmark;
+
+import com.example.activos_tic.ActivosTicApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// The application without a web server, on its own in-memory H2 database, for benchmarks that go
+// through JPA. SQL logging is off and Hibernate statistics are on, for HibernateStatementsProfiler.
+final class BenchmarkApplication {
+
+    private static volatile Statistics statistics;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String database) {
+        // Arguments, so they take precedence over application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ActivosTicApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER,ROLE",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--spring.h2.console.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        return context;
+    }
+
+    // Null until a benchmark in this JVM has started the application
+    static Statistics statistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.activos_tic.benchmark;
+
+import com.example.activos_tic.dto.HardwareDto;
+import com.example.activos_tic.service.ExportService;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Column sizing of one export sheet: the Hardware sheet written with {@link ExportService}'s row
+ * writer into SXSSF and saved, sized either by {@code autoSizeColumn} (the previous code: width
+ * tracking on every row, then Sheet.autoSizeColumn per column through AWT font metrics) or by
+ * {@code columnWidths} (the export's ColumnWidths, the longest value per column counted as rows are
+ * written). The private row writer and tracker are called through method handles, as in
+ * {@link MapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xms512m", "-Xmx512m", "-Djava.awt.headless=true"})
+public class ColumnSizingBenchmark {
+
+    private static final String[] HEADERS = {"ID", "Type", "Brand", "Serial Number", "Location", "Assigned Employee ID", "Assigned Employee Name"};
+    private static final int MAX_COLUMN_WIDTH = 60; // As in application.properties
+    private static final MethodHandles.Lookup EXPORT = lookup(ExportService.class);
+    private static final MethodHandle WRITE_HARDWARE_ROW = handle(() -> EXPORT.findStatic(ExportService.class,
+            "writeHardwareRow", MethodType.methodType(void.class, Row.class, HardwareDto.class)));
+    private static final Class<?> COLUMN_WIDTHS = nested("ColumnWidths");
+    private static final MethodHandle NEW_COLUMN_WIDTHS = handle(() -> lookup(COLUMN_WIDTHS)
+            .findConstructor(COLUMN_WIDTHS, MethodType.methodType(void.class, String[].class))
+            .asType(MethodType.methodType(Object.class, String[].class)));
+    private static final MethodHandle MEASURE = handle(() -> lookup(COLUMN_WIDTHS)
+            .findVirtual(COLUMN_WIDTHS, "measure", MethodType.methodType(void.class, Row.class))
+            .asType(MethodType.methodType(void.class, Object.class, Row.class)));
+    private static final MethodHandle APPLY_TO = handle(() -> lookup(COLUMN_WIDTHS)
+            .findVirtual(COLUMN_WIDTHS, "applyTo", MethodType.methodType(void.class, Sheet.class, int.class))
+            .asType(MethodType.methodType(void.class, Object.class, Sheet.class, int.class)));
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    @Param({"autoSizeColumn", "columnWidths"})
+    private String sizing;
+
+    @Benchmark
+    public void writeSheet() throws Throwable {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Hardware");
+            boolean autoSize = "autoSizeColumn".equals(sizing);
+            if (autoSize) {
+                sheet.trackAllColumnsForAutoSizing();
+            }
+            Object widths = NEW_COLUMN_WIDTHS.invokeExact(HEADERS);
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                header.createCell(i).setCellValue(HEADERS[i]);
+            }
+            for (long id = 1; id <= rows; id++) {
+                Row row = sheet.createRow((int) id);
+                WRITE_HARDWARE_ROW.invokeExact(row, new HardwareDto(id, "Laptop", "Lenovo ThinkPad", "SN-" + id,
+                        "Bogota - Sede Principal", 1 + id % 500, "Employee " + (1 + id % 500)));
+                if (!autoSize) {
+                    MEASURE.invokeExact(widths, row);
+                }
+            }
+            if (autoSize) {
+                for (int i = 0; i < HEADERS.length; i++) {
+                    sheet.autoSizeColumn(i);
+                }
+            } else {
+                APPLY_TO.invokeExact(widths, (Sheet) sheet, MAX_COLUMN_WIDTH);
+            }
+            workbook.write(OutputStream.nullOutputStream());
+        } finally {
+            workbook.close();
+            workbook.dispose();
+        }
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static Class<?> nested(String name) {
+        try {
+            return Class.forName(ExportService.class.getName() + "$" + name);
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle handle(HandleLookup lookup) {
+        try {
+            return lookup.find();
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface HandleLookup {
+        MethodHandle find() throws ReflectiveOperationException;
+    }
+}
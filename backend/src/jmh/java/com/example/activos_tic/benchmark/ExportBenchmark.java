@@ -0,0 +1,126 @@
+package com.example.activos_tic.benchmark;
+
+import com.example.activos_tic.domain.model.Employee;
+import com.example.activos_tic.domain.model.Hardware;
+import com.example.activos_tic.domain.model.License;
+import com.example.activos_tic.domain.model.WebAccess;
+import com.example.activos_tic.dto.EmployeeDto;
+import com.example.activos_tic.dto.HardwareDto;
+import com.example.activos_tic.dto.LicenseDto;
+import com.example.activos_tic.dto.WebAccessDto;
+import com.example.activos_tic.service.AssetService;
+import com.example.activos_tic.service.ExportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Full workbook generation of {@link ExportService} (SXSSF rows, column widths, zip output) for a
+ * total row count split over the four sheets. Rows come from an in-memory {@link AssetService} that
+ * builds the same DTOs the database projections return, so the numbers are the workbook's own cost.
+ * The fork runs with a 512 MB heap: a streaming export must fit in it at any row count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xms512m", "-Xmx512m"})
+public class ExportBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    // Sequential sheets against app.export.parallel, whose pool has one thread per core up to one per
+    // sheet. The gc profiler counts allocations of the benchmark thread only, and with parallel sheets
+    // they happen on the export pool: compare parallel=true on time, not on allocation.
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private ExportService exportService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        exportService = new ExportService(new NoOpTransactionManager());
+        ReflectionTestUtils.setField(exportService, "assetService", new GeneratedAssets(rows));
+        ReflectionTestUtils.setField(exportService, "parallelExport", parallel);
+        ReflectionTestUtils.setField(exportService, "maxColumnWidth", 60); // As in application.properties
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(exportService, "shutdown");
+    }
+
+    @Benchmark
+    public void writeWorkbook() throws IOException {
+        exportService.writeAllDataToExcel(OutputStream.nullOutputStream());
+    }
+
+    // Rows in the usual proportions of the inventory: mostly hardware and licenses
+    static final class GeneratedAssets extends AssetService {
+        private final long employees;
+        private final long hardware;
+        private final long licenses;
+        private final long webAccesses;
+
+        GeneratedAssets(int rows) {
+            super(new NoOpTransactionManager());
+            employees = rows / 20;
+            webAccesses = rows / 20;
+            licenses = rows * 3L / 10;
+            hardware = rows - employees - webAccesses - licenses;
+        }
+
+        @Override
+        public Stream<EmployeeDto> streamEmployees(Specification<Employee> filter) {
+            return ids(employees).mapToObj(id -> new EmployeeDto(id, "Employee " + id, "Department " + id % 12, "Analyst"));
+        }
+
+        @Override
+        public Stream<HardwareDto> streamHardware(Specification<Hardware> filter) {
+            return ids(hardware).mapToObj(id -> new HardwareDto(id, "Laptop", "Lenovo ThinkPad", "SN-" + id,
+                    "Bogota - Sede Principal", employeeOf(id), "Employee " + employeeOf(id)));
+        }
+
+        @Override
+        public Stream<LicenseDto> streamLicenses(Specification<License> filter) {
+            LocalDate purchased = LocalDate.of(2024, 1, 15);
+            return ids(licenses).mapToObj(id -> new LicenseDto(id, "Microsoft Office 365", "KEY-" + id + "-XXXX-XXXX",
+                    purchased, purchased.plusDays(365 + id % 365), employeeOf(id), "Employee " + employeeOf(id)));
+        }
+
+        @Override
+        public Stream<WebAccessDto> streamWebAccesses(Specification<WebAccess> filter) {
+            return ids(webAccesses).mapToObj(id -> new WebAccessDto(id, "https://jira.example.com", "Jira", "user" + id,
+                    null, employeeOf(id), "Employee " + employeeOf(id)));
+        }
+
+        private static LongStream ids(long count) {
+            return LongStream.rangeClosed(1, count);
+        }
+
+        private long employeeOf(long id) {
+            return 1 + id % Math.max(1, employees);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.activos_tic.benchmark;
+
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC statements Hibernate prepared per benchmark operation ({@code statements.norm}), from the
+ * statistics of the application started by {@link BenchmarkApplication}. Benchmarks that do not start
+ * the application report nothing.
+ * Run inside the benchmark JVM with {@code -prof com.example.activos_tic.benchmark.HibernateStatementsProfiler}.
+ */
+public class HibernateStatementsProfiler implements InternalProfiler {
+
+    private long statementsBefore;
+
+    @Override
+    public String getDescription() {
+        return "Hibernate statements per operation";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        Statistics statistics = BenchmarkApplication.statistics();
+        statementsBefore = statistics != null ? statistics.getPrepareStatementCount() : 0;
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                                       IterationResult result) {
+        Statistics statistics = BenchmarkApplication.statistics();
+        long ops = result.getMetadata().getAllOps();
+        if (statistics == null || ops == 0) {
+            return List.of();
+        }
+        double perOp = (double) (statistics.getPrepareStatementCount() - statementsBefore) / ops;
+        return List.of(new ScalarResult("statements.norm", perOp, "statements/op", AggregationPolicy.AVG));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.activos_tic.benchmark;
+
+import com.example.activos_tic.config.JwtClaims;
+import com.example.activos_tic.config.JwtTokenProvider;
+import com.example.activos_tic.service.RevocationList;
+import com.example.activos_tic.service.UserDetailsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verification of {@link JwtTokenProvider} on a token it issued itself, as JwtAuthFilter runs it
+ * on every request: the full signature check and parse (verified-token cache off), and a token seen
+ * before (cache hit), and a cache hit followed by the revocation check against 10,000 revoked tokens.
+ * One thread, so the scores are tokens verified per second per core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class JwtBenchmark {
+
+    // HS512 needs a key of at least 64 bytes
+    private static final String SECRET = "benchmark-secret-".repeat(5);
+    private static final int EXPIRATION_MS = 3_600_000;
+
+    private JwtTokenProvider uncachedProvider;
+    private JwtTokenProvider cachedProvider;
+    private String token;
+    private RevocationList revocations;
+
+    @Setup
+    public void setUp() {
+        uncachedProvider = new JwtTokenProvider(SECRET, EXPIRATION_MS, 0);
+        cachedProvider = new JwtTokenProvider(SECRET, EXPIRATION_MS, 10_000);
+        UserDetailsImpl admin = new UserDetailsImpl(1L, "admin", "admin@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")));
+        token = uncachedProvider.generateJwtToken(new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        Map<String, Instant> revoked = new HashMap<>();
+        Instant expiresAt = Instant.now().plusMillis(EXPIRATION_MS);
+        for (int i = 0; i < 10_000; i++) {
+            revoked.put(UUID.randomUUID().toString(), expiresAt);
+        }
+        revocations = new RevocationList(revoked, 10_000);
+    }
+
+    @Benchmark
+    public JwtClaims verify() {
+        return uncachedProvider.verify(token);
+    }
+
+    @Benchmark
+    public JwtClaims verifyCached() {
+        return cachedProvider.verify(token);
+    }
+
+    @Benchmark
+    public boolean verifyCachedNotRevoked() {
+        JwtClaims claims = cachedProvider.verify(token);
+        return claims != null && !revocations.isRevoked(claims.tokenId());
+    }
+}
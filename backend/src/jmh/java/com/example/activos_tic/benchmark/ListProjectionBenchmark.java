@@ -0,0 +1,139 @@
+package com.example.activos_tic.benchmark;
+
+import com.example.activos_tic.domain.model.Employee;
+import com.example.activos_tic.domain.model.Hardware;
+import com.example.activos_tic.domain.repository.EmployeeRepository;
+import com.example.activos_tic.domain.repository.HardwareRepository;
+import com.example.activos_tic.dto.CursorPage;
+import com.example.activos_tic.dto.HardwareDto;
+import com.example.activos_tic.dto.HardwareFilter;
+import com.example.activos_tic.service.AssetService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full page (500 rows) of the hardware list, against H2: {@code projection} is
+ * {@link AssetService#getAllHardware}, which selects straight into HardwareDto with the employee's id
+ * and name from one join; {@code entities} the previous read path, managed Hardware entities with the
+ * employee fetch-joined in a read-only transaction, copied by AssetService's mapper. Allocation per row
+ * is {@code gc.alloc.rate.norm} divided by 500.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 8, time = 5) // The JIT takes a while over the whole Spring and Hibernate stack
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListProjectionBenchmark {
+
+    private static final int EMPLOYEES = 2_000;
+    private static final int HARDWARE = 20_000;
+    private static final int PAGE = AssetService.MAX_PAGE_SIZE;
+
+    private static final MethodHandle TO_HARDWARE_DTO;
+
+    static {
+        try {
+            TO_HARDWARE_DTO = MethodHandles.privateLookupIn(AssetService.class, MethodHandles.lookup())
+                    .findVirtual(AssetService.class, "mapToHardwareDto", MethodType.methodType(HardwareDto.class, Hardware.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private ConfigurableApplicationContext context;
+    private AssetService assetService;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("list_projection");
+        assetService = context.getBean(AssetService.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setName("Employee " + i);
+            employee.setDepartment("Department " + i % 12);
+            employee.setPosition("Analyst");
+            employees.add(employee);
+        }
+        employees = context.getBean(EmployeeRepository.class).saveAll(employees);
+        List<Hardware> hardware = new ArrayList<>();
+        for (int i = 0; i < HARDWARE; i++) {
+            Hardware item = new Hardware();
+            item.setType("Laptop");
+            item.setBrand("Lenovo ThinkPad");
+            item.setSerialNumber("SN-" + i);
+            item.setLocation("Bogota - Sede Principal");
+            item.setAssignedEmployee(employees.get(i % EMPLOYEES));
+            hardware.add(item);
+        }
+        context.getBean(HardwareRepository.class).saveAll(hardware);
+
+        // Both sides must return the same full page, or the comparison means nothing
+        if (!projection().getItems().equals(entities()) || entities().size() != PAGE) {
+            throw new IllegalStateException("The two list paths return different pages");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<HardwareDto> projection() {
+        return assetService.getAllHardware(new HardwareFilter(), null, null, PAGE);
+    }
+
+    @Benchmark
+    public List<HardwareDto> entities() {
+        return readOnlyTransaction.execute(status -> {
+            List<Hardware> rows = entityManager
+                    .createQuery("SELECT h FROM Hardware h LEFT JOIN FETCH h.assignedEmployee ORDER BY h.id", Hardware.class)
+                    .setMaxResults(PAGE + 1)
+                    .getResultList();
+            List<HardwareDto> page = new ArrayList<>(PAGE);
+            for (Hardware row : rows.subList(0, Math.min(PAGE, rows.size()))) {
+                page.add(toDto(row));
+            }
+            return page;
+        });
+    }
+
+    private HardwareDto toDto(Hardware hardware) {
+        try {
+            return (HardwareDto) TO_HARDWARE_DTO.invokeExact(assetService, hardware);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.activos_tic.benchmark;
+
+import com.example.activos_tic.domain.model.Employee;
+import com.example.activos_tic.domain.model.Hardware;
+import com.example.activos_tic.domain.model.License;
+import com.example.activos_tic.domain.model.WebAccess;
+import com.example.activos_tic.dto.EmployeeDto;
+import com.example.activos_tic.dto.HardwareDto;
+import com.example.activos_tic.dto.LicenseDto;
+import com.example.activos_tic.dto.WebAccessDto;
+import com.example.activos_tic.service.AssetService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The entity to DTO mappers of {@link AssetService}. They are private, so they are called through
+ * constant method handles, which the JIT inlines like a direct call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final MethodHandle TO_EMPLOYEE_DTO = mapper("mapToEmployeeDto", EmployeeDto.class, Employee.class);
+    private static final MethodHandle TO_HARDWARE_DTO = mapper("mapToHardwareDto", HardwareDto.class, Hardware.class);
+    private static final MethodHandle TO_LICENSE_DTO = mapper("mapToLicenseDto", LicenseDto.class, License.class);
+    private static final MethodHandle TO_WEB_ACCESS_DTO = mapper("mapToWebAccessDto", WebAccessDto.class, WebAccess.class);
+
+    private AssetService assetService;
+    private Employee employee;
+    private Hardware hardware;
+    private License license;
+    private WebAccess webAccess;
+
+    @Setup
+    public void setUp() {
+        assetService = new AssetService(new NoOpTransactionManager());
+        employee = new Employee();
+        employee.setId(7L);
+        employee.setName("Ana Gomez");
+        employee.setDepartment("TI");
+        employee.setPosition("Analyst");
+
+        hardware = new Hardware();
+        hardware.setId(1L);
+        hardware.setType("Laptop");
+        hardware.setBrand("Lenovo");
+        hardware.setSerialNumber("SN-0001");
+        hardware.setLocation("Bogota");
+        hardware.setAssignedEmployee(employee);
+
+        license = new License();
+        license.setId(2L);
+        license.setSoftwareName("Office");
+        license.setLicenseKey("KEY-0001");
+        license.setPurchaseDate(LocalDate.of(2024, 1, 15));
+        license.setExpirationDate(LocalDate.of(2025, 1, 15));
+        license.setAssignedEmployee(employee);
+
+        webAccess = new WebAccess();
+        webAccess.setId(3L);
+        webAccess.setServiceName("Jira");
+        webAccess.setUrl("https://jira.example.com");
+        webAccess.setAccessUsername("agomez");
+        webAccess.setAccessPassword("secret");
+        webAccess.setAssignedEmployee(employee);
+    }
+
+    @Benchmark
+    public EmployeeDto employeeToDto() throws Throwable {
+        return (EmployeeDto) TO_EMPLOYEE_DTO.invokeExact(assetService, employee);
+    }
+
+    @Benchmark
+    public HardwareDto hardwareToDto() throws Throwable {
+        return (HardwareDto) TO_HARDWARE_DTO.invokeExact(assetService, hardware);
+    }
+
+    @Benchmark
+    public LicenseDto licenseToDto() throws Throwable {
+        return (LicenseDto) TO_LICENSE_DTO.invokeExact(assetService, license);
+    }
+
+    @Benchmark
+    public WebAccessDto webAccessToDto() throws Throwable {
+        return (WebAccessDto) TO_WEB_ACCESS_DTO.invokeExact(assetService, webAccess);
+    }
+
+    private static MethodHandle mapper(String name, Class<?> dtoType, Class<?> entityType) {
+        try {
+            return MethodHandles.privateLookupIn(AssetService.class, MethodHandles.lookup())
+                    .findVirtual(AssetService.class, name, MethodType.methodType(dtoType, entityType));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
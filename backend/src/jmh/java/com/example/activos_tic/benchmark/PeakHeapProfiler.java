@@ -0,0 +1,60 @@
+package com.example.activos_tic.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Peak heap use of each iteration in MB: the heap pools' peaks are reset before the iteration and
+ * summed after it. {@code peak.heap} is every pool, so it mostly follows the young generation filling
+ * up between collections; {@code peak.heap.old} is the old generation only, the memory that survives
+ * collections, and grows when a benchmark keeps data alive. Pools peak at different moments, so both
+ * are upper bounds.
+ * Run inside the benchmark JVM with {@code -prof com.example.activos_tic.benchmark.PeakHeapProfiler}.
+ */
+public class PeakHeapProfiler implements InternalProfiler {
+
+    @Override
+    public String getDescription() {
+        return "Peak heap used during each iteration";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                                       IterationResult result) {
+        List<MemoryPoolMXBean> pools = heapPools();
+        List<MemoryPoolMXBean> oldPools = pools.stream().filter(PeakHeapProfiler::isOldGeneration).toList();
+        return List.of(peakResult("peak.heap", pools), peakResult("peak.heap.old", oldPools));
+    }
+
+    private static ScalarResult peakResult(String label, List<MemoryPoolMXBean> pools) {
+        long peakBytes = pools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        return new ScalarResult(label, peakBytes / (1024.0 * 1024.0), "MB", AggregationPolicy.MAX);
+    }
+
+    // "Tenured Gen" (Serial), "PS Old Gen" (Parallel), "G1 Old Gen" (G1)
+    private static boolean isOldGeneration(MemoryPoolMXBean pool) {
+        return pool.getName().contains("Old") || pool.getName().contains("Tenured");
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid())
+                .toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.activos_tic.benchmark;
+
+import com.example.activos_tic.domain.model.Employee;
+import com.example.activos_tic.domain.model.Hardware;
+import com.example.activos_tic.domain.model.License;
+import com.example.activos_tic.domain.model.WebAccess;
+import com.example.activos_tic.dto.SearchResultDto;
+import com.example.activos_tic.service.AssetSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the global search ({@link AssetSearchService#search}) over 500k documents: 50k
+ * employees, 250k hardware items, 150k licenses and 50k web accesses with realistic repetition of
+ * brands, software and names. Sample mode, so the result carries p50/p99/p99.9 per query; the target
+ * is p99 under 10 ms. The index is fed through the service's write hooks, which apply at once
+ * outside a transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class SearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {"maria", "jose", "juan", "ana", "luis", "carlos", "laura", "andres",
+            "diana", "jorge", "paula", "camila", "felipe", "sofia", "daniel", "valentina", "santiago", "natalia"};
+    private static final String[] LAST_NAMES = {"garcia", "rodriguez", "martinez", "lopez", "gonzalez", "perez",
+            "sanchez", "ramirez", "torres", "florez", "rivera", "gomez", "diaz", "moreno", "alvarez", "rojas"};
+    private static final String[] BRANDS = {"Dell", "HP", "Lenovo", "Apple", "Asus", "Acer", "Samsung", "LG"};
+    private static final String[] TYPES = {"Laptop", "Desktop", "Monitor", "Printer", "Phone"};
+    private static final String[] SOFTWARE = {"Microsoft Office 365", "Adobe Acrobat Pro", "AutoCAD", "Visual Studio",
+            "Windows 11 Pro", "Antivirus Endpoint", "Zoom Pro", "Slack Business", "JetBrains IntelliJ", "Tableau"};
+    private static final String[] SERVICES = {"Salesforce", "Jira", "Confluence", "GitHub", "SAP Portal", "Workday"};
+
+    // Serial fragment, brand, software word, first name, full name, brand plus owner, a broad two-letter prefix,
+    // and the worst case: the prefix of every serial number, matching all 250k hardware items
+    @Param({"7f3k", "dell", "office", "maria", "maria garcia", "lenovo rojas", "ad", "sn"})
+    private String query;
+
+    private AssetSearchService searchService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        searchService = new AssetSearchService();
+        Random random = new Random(42);
+        int employees = 50_000;
+        for (long id = 1; id <= employees; id++) {
+            Employee employee = new Employee();
+            employee.setId(id);
+            employee.setName(capitalize(pick(random, FIRST_NAMES)) + " " + capitalize(pick(random, LAST_NAMES)));
+            employee.setDepartment("Dept " + id % 40);
+            searchService.employeeSaved(employee);
+        }
+        for (long id = 1; id <= 250_000; id++) {
+            Hardware hardware = new Hardware();
+            hardware.setId(id);
+            hardware.setType(pick(random, TYPES));
+            hardware.setBrand(pick(random, BRANDS));
+            hardware.setSerialNumber(serial(random));
+            hardware.setLocation("Floor " + id % 12);
+            hardware.setAssignedEmployee(employee(random, employees));
+            searchService.hardwareSaved(hardware);
+        }
+        for (long id = 1; id <= 150_000; id++) {
+            License license = new License();
+            license.setId(id);
+            license.setSoftwareName(pick(random, SOFTWARE));
+            license.setLicenseKey(serial(random));
+            license.setExpirationDate(LocalDate.of(2026, 1, 1).plusDays(id % 700));
+            license.setAssignedEmployee(employee(random, employees));
+            searchService.licenseSaved(license);
+        }
+        for (long id = 1; id <= 50_000; id++) {
+            WebAccess webAccess = new WebAccess();
+            webAccess.setId(id);
+            String service = pick(random, SERVICES);
+            webAccess.setServiceName(service);
+            webAccess.setUrl("https://" + service.toLowerCase().replace(' ', '-') + ".example.com/u/" + id);
+            webAccess.setAssignedEmployee(employee(random, employees));
+            searchService.webAccessSaved(webAccess);
+        }
+    }
+
+    @Benchmark
+    public List<SearchResultDto> search() {
+        return searchService.search(query, AssetSearchService.DEFAULT_LIMIT);
+    }
+
+    // Most assets are assigned; the reference only carries the id, as a lazy proxy would
+    private static Employee employee(Random random, int employees) {
+        if (random.nextInt(10) == 0) {
+            return null;
+        }
+        Employee employee = new Employee();
+        employee.setId(1L + random.nextInt(employees));
+        return employee;
+    }
+
+    private static String serial(Random random) {
+        StringBuilder serial = new StringBuilder("SN");
+        for (int i = 0; i < 10; i++) {
+            serial.append(Character.forDigit(random.nextInt(36), 36));
+        }
+        return serial.toString().toUpperCase();
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+}
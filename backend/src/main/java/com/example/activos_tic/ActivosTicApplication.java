@@ -2,8 +2,12 @@ package com.example.activos_tic;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableJpaAuditing(dateTimeProviderRef = "changeClock")
 public class ActivosTicApplication {
 
     public static void main(String[] args) {
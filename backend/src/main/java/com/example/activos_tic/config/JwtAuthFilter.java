@@ -1,6 +1,7 @@
 package com.example.activos_tic.config;
 
-import com.example.activos_tic.service.UserDetailsServiceImpl;
+import com.example.activos_tic.service.PrincipalCache;
+import com.example.activos_tic.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,7 +26,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private JwtTokenProvider tokenProvider;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // The principal comes from the verified token's claims, without a database query. Off, the
+    // account is loaded (through PrincipalCache), so role changes apply before the token expires.
+    @Value("${app.auth.principal-from-token:true}")
+    private boolean principalFromToken;
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthFilter.class);
 
@@ -33,10 +43,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = tokenProvider.parseJwt(request);
-            if (jwt != null && tokenProvider.validateJwtToken(jwt)) {
-                String username = tokenProvider.getUsernameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            JwtClaims claims = jwt != null ? tokenProvider.verify(jwt) : null;
+            // A logged-out token still verifies until it expires; the revocation check costs no query
+            if (claims != null && !tokenRevocationService.isRevoked(claims)) {
+                UserDetails userDetails = principalFromToken ? tokenProvider.getUserDetails(claims) : null;
+                if (userDetails == null) {
+                    userDetails = principalCache.load(claims.username());
+                }
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
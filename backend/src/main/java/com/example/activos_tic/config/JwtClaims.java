@@ -0,0 +1,9 @@
+package com.example.activos_tic.config;
+
+import java.time.Instant;
+import java.util.List;
+
+// The claims of a verified token. Immutable, so one verification can be shared by later requests with the same token.
+// tokenId (the jti claim), userId, email and roles are null for a token issued without them.
+public record JwtClaims(String tokenId, String username, Long userId, String email, List<String> roles, Instant expiresAt) {
+}
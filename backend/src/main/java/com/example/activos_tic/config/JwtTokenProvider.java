@@ -9,27 +9,64 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Issues and verifies the JWTs of the API. The signing key and the parser are built once; the parser
+ * is immutable and shared by all requests.
+ * <p>
+ * {@link #verify} checks the HMAC-SHA512 signature and expiry once and returns the claims as an
+ * immutable {@link JwtClaims}. Verified tokens are remembered by their SHA-256 digest until they
+ * expire, so a client sending the same token again costs one hash and a map lookup. The cache holds
+ * at most {@code app.jwt.verified-cache.max-entries} tokens (0 turns it off); past that, expired and
+ * then random entries make room one at a time. Revocation is checked
+ * after this, by JwtAuthFilter, so a cached token that is logged out is rejected too.
+ */
 @Component
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
-    @Value("${app.jwtSecret}")
-    private String jwtSecret;
+    private static final String ROLES_CLAIM = "roles";
+    private static final String EMAIL_CLAIM = "email";
+    private static final String ID_CLAIM = "id";
+    private static final long EXPIRY_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
 
-    @Value("${app.jwtExpirationMs}")
-    private int jwtExpirationMs;
+    private final int jwtExpirationMs;
+    private final SecretKey key;
+    private final JwtParser parser;
 
-    private SecretKey key() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    private final int verifiedCacheMaxEntries;
+    // Token digest -> claims of the verified token, until the token expires
+    private final Map<String, JwtClaims> verifiedTokens = new ConcurrentHashMap<>();
+    // Next time a full cache may be scanned for expired tokens, in System.nanoTime
+    private volatile long nextExpirySweep = System.nanoTime();
+
+    public JwtTokenProvider(@Value("${app.jwtSecret}") String jwtSecret,
+                            @Value("${app.jwtExpirationMs}") int jwtExpirationMs,
+                            @Value("${app.jwt.verified-cache.max-entries:10000}") int verifiedCacheMaxEntries) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedCacheMaxEntries = verifiedCacheMaxEntries;
     }
 
     public String generateJwtToken(Authentication authentication) {
@@ -39,42 +76,111 @@ public class JwtTokenProvider {
                                 .collect(Collectors.toList());
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString()) // jti, so the token can be revoked on its own
                 .setSubject(userPrincipal.getUsername())
-                .claim("roles", roles)
-                .claim("email", userPrincipal.getEmail())
-                .claim("id", userPrincipal.getId())
+                .claim(ROLES_CLAIM, roles)
+                .claim(EMAIL_CLAIM, userPrincipal.getEmail())
+                .claim(ID_CLAIM, userPrincipal.getId())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS512)
+                .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public String getUsernameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                   .parseClaimsJws(token).getBody().getSubject();
+    // The claims of a token whose signature and expiry check out; null (and logged) otherwise
+    public JwtClaims verify(String authToken) {
+        if (verifiedCacheMaxEntries <= 0) {
+            return parse(authToken);
+        }
+        String digest = digest(authToken);
+        JwtClaims cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(Instant.now())) {
+                return cached;
+            }
+            verifiedTokens.remove(digest); // Parsed again below, which rejects and logs it as expired
+        }
+        JwtClaims claims = parse(authToken);
+        if (claims != null && claims.expiresAt() != null) {
+            remember(digest, claims);
+        }
+        return claims;
+    }
+
+    // The user as of when the token was issued, from the claims generateJwtToken puts in;
+    // null for a token without them, whose user has to be loaded instead
+    public UserDetailsImpl getUserDetails(JwtClaims claims) {
+        if (claims.userId() == null || claims.roles() == null) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = claims.roles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        return new UserDetailsImpl(claims.userId(), claims.username(), claims.email(), null, authorities);
     }
 
-    public boolean validateJwtToken(String authToken) {
+    public String parseJwt(HttpServletRequest request) {
+        String headerAuth = request.getHeader("Authorization");
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
+            return headerAuth.substring(7);
+        }
+        return null;
+    }
+
+    // The single signature check and parse of a token
+    private JwtClaims parse(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(authToken);
-            return true;
+            return toJwtClaims(parser.parseClaimsJws(authToken).getBody());
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (io.jsonwebtoken.security.SecurityException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 
-    public String parseJwt(HttpServletRequest request) {
-        String headerAuth = request.getHeader("Authorization");
-        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
-            return headerAuth.substring(7);
+    private static JwtClaims toJwtClaims(Claims claims) {
+        Long userId = claims.get(ID_CLAIM) instanceof Number id ? id.longValue() : null;
+        List<String> roles = claims.get(ROLES_CLAIM) instanceof Collection<?> values
+                ? values.stream().map(Object::toString).toList()
+                : null;
+        Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+        return new JwtClaims(claims.getId(), claims.getSubject(), userId, claims.get(EMAIL_CLAIM, String.class), roles, expiresAt);
+    }
+
+    // When the cache is full, expired tokens are dropped first (a scan, at most once a second), then single
+    // entries until there is room. Keys are digests, so the first one met is a random token: with more
+    // active tokens than entries the cache still serves its share of them instead of starting over empty.
+    private void remember(String digest, JwtClaims claims) {
+        if (verifiedTokens.size() >= verifiedCacheMaxEntries) {
+            long now = System.nanoTime();
+            if (now - nextExpirySweep >= 0) {
+                nextExpirySweep = now + EXPIRY_SWEEP_INTERVAL_NANOS;
+                Instant instant = Instant.now();
+                verifiedTokens.values().removeIf(entry -> !entry.expiresAt().isAfter(instant));
+            }
+            Iterator<String> victims = verifiedTokens.keySet().iterator();
+            while (verifiedTokens.size() >= verifiedCacheMaxEntries && victims.hasNext()) {
+                victims.next();
+                victims.remove();
+            }
+        }
+        verifiedTokens.put(digest, claims);
+    }
+
+    // Tokens are not kept in memory as they are, only their digest
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // Every JVM ships SHA-256
         }
-        return null;
     }
 }
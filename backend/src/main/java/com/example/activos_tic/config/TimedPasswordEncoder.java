@@ -0,0 +1,32 @@
+package com.example.activos_tic.config;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Records how long each hash (encode or check) of the wrapped encoder takes
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer hashTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, Timer hashTimer) {
+        this.delegate = delegate;
+        this.hashTimer = hashTimer;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hashTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matches = hashTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(matches);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -1,25 +1,27 @@
 package com.example.activos_tic.controller;
 
+import com.example.activos_tic.config.JwtClaims;
 import com.example.activos_tic.config.JwtTokenProvider;
 import com.example.activos_tic.domain.model.User;
+import com.example.activos_tic.dto.BulkResultDto;
 import com.example.activos_tic.dto.JwtResponse;
 import com.example.activos_tic.dto.LoginRequest;
 import com.example.activos_tic.dto.MessageResponse;
 import com.example.activos_tic.dto.RegisterRequest;
 import com.example.activos_tic.service.AuthService;
+import com.example.activos_tic.service.LoginService;
+import com.example.activos_tic.service.TokenRevocationService;
 import com.example.activos_tic.service.UserDetailsImpl;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600) // Configure allowed origins as needed
@@ -28,7 +30,7 @@ import java.util.stream.Collectors;
 public class AuthController {
 
     @Autowired
-    AuthenticationManager authenticationManager;
+    LoginService loginService;
 
     @Autowired
     AuthService authService;
@@ -36,24 +38,42 @@ public class AuthController {
     @Autowired
     JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    TokenRevocationService tokenRevocationService;
+
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                                 HttpServletRequest request) {
+        // The password check runs on LoginService's own threads; this request thread is released meanwhile.
+        // Behind a proxy the remote address is the client's, from X-Forwarded-For (server.forward-headers-strategy).
+        return loginService.authenticate(loginRequest.getUsername(), loginRequest.getPassword(), request.getRemoteAddr())
+                .thenApply(authentication -> {
+                    String jwt = jwtTokenProvider.generateJwtToken(authentication);
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtTokenProvider.generateJwtToken(authentication);
+                    UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+                    List<String> roles = userDetails.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority)
+                            .collect(Collectors.toList());
 
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        List<String> roles = userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList());
+                    return ResponseEntity.ok(new JwtResponse(jwt,
+                            userDetails.getId(),
+                            userDetails.getUsername(),
+                            userDetails.getEmail(),
+                            roles));
+                });
+    }
 
-        return ResponseEntity.ok(new JwtResponse(jwt,
-                userDetails.getId(),
-                userDetails.getUsername(),
-                userDetails.getEmail(),
-                roles));
+    // Revokes the token sent in the Authorization header. This instance rejects it from then on; other
+    // instances pick the revocation up on their next poll (app.auth.revocation.poll-ms, 5 s by default)
+    @PostMapping("/logout")
+    public ResponseEntity<MessageResponse> logout(HttpServletRequest request) {
+        String jwt = jwtTokenProvider.parseJwt(request);
+        JwtClaims claims = jwt != null ? jwtTokenProvider.verify(jwt) : null;
+        if (claims == null || claims.tokenId() == null) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: No revocable token in the request"));
+        }
+        tokenRevocationService.revoke(claims.tokenId(), claims.expiresAt());
+        return ResponseEntity.ok(new MessageResponse("Logged out successfully!"));
     }
 
     @PostMapping("/register")
@@ -66,4 +86,10 @@ public class AuthController {
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         }
     }
+
+    @PostMapping("/register/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkResultDto> registerUsers(@RequestBody List<RegisterRequest> items) {
+        return ResponseEntity.ok(authService.registerUsers(items));
+    }
 }
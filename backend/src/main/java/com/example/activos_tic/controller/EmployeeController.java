@@ -1,15 +1,22 @@
 package com.example.activos_tic.controller;
 
+import com.example.activos_tic.dto.CursorPage;
+import com.example.activos_tic.dto.EmployeeAssetsDto;
 import com.example.activos_tic.dto.EmployeeDto;
+import com.example.activos_tic.dto.EmployeeFilter;
+import com.example.activos_tic.dto.OffboardRequest;
+import com.example.activos_tic.dto.OffboardResultDto;
+import com.example.activos_tic.service.ActaService;
 import com.example.activos_tic.service.AssetService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -19,6 +26,9 @@ public class EmployeeController {
     @Autowired
     private AssetService assetService;
 
+    @Autowired
+    private ActaService actaService;
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<EmployeeDto> createEmployee(@Valid @RequestBody EmployeeDto employeeDto) {
@@ -28,8 +38,12 @@ public class EmployeeController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
-    public ResponseEntity<List<EmployeeDto>> getAllEmployees() {
-        List<EmployeeDto> employees = assetService.getAllEmployees();
+    public ResponseEntity<CursorPage<EmployeeDto>> getAllEmployees(
+            EmployeeFilter filter,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + AssetService.DEFAULT_PAGE_SIZE) int limit) {
+        CursorPage<EmployeeDto> employees = assetService.getAllEmployees(filter, sort, after, limit);
         return ResponseEntity.ok(employees);
     }
 
@@ -40,6 +54,36 @@ public class EmployeeController {
         return ResponseEntity.ok(employee);
     }
 
+    @GetMapping("/{id}/assets")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<EmployeeAssetsDto> getEmployeeAssets(@PathVariable Long id) {
+        EmployeeAssetsDto assets = assetService.getAssetsForEmployee(id);
+        return ResponseEntity.ok(assets);
+    }
+
+    // Assignment certificate (acta) of one employee as .docx
+    @GetMapping("/{id}/acta")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<byte[]> getEmployeeActa(@PathVariable Long id) {
+        byte[] acta = actaService.generateActa(id);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=acta_" + id + ".docx")
+                .contentType(MediaType.parseMediaType(ActaService.DOCX_CONTENT_TYPE))
+                .body(acta);
+    }
+
+    // The actas of every employee of a department, streamed as one zip
+    @GetMapping("/actas")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> getDepartmentActas(@RequestParam String department) {
+        actaService.requireDepartment(department);
+        StreamingResponseBody body = out -> actaService.writeDepartmentActas(department, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=actas.zip")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<EmployeeDto> updateEmployee(@PathVariable Long id, @Valid @RequestBody EmployeeDto employeeDto) {
@@ -47,6 +91,14 @@ public class EmployeeController {
         return ResponseEntity.ok(updatedEmployee);
     }
 
+    // Deletes many employees at once, leaving their assets unassigned
+    @PostMapping("/offboard")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OffboardResultDto> offboardEmployees(@Valid @RequestBody OffboardRequest offboardRequest) {
+        OffboardResultDto result = assetService.offboardEmployees(offboardRequest.getEmployeeIds());
+        return ResponseEntity.ok(result);
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteEmployee(@PathVariable Long id) {
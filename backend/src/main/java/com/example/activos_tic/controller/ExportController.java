@@ -1,20 +1,37 @@
 package com.example.activos_tic.controller;
 
+import com.example.activos_tic.dto.ChangeDto;
+import com.example.activos_tic.dto.ExportFilter;
+import com.example.activos_tic.dto.ExportJobDto;
+import com.example.activos_tic.dto.MessageResponse;
+import com.example.activos_tic.service.ChangeFeedService;
+import com.example.activos_tic.service.DataVersionService;
+import com.example.activos_tic.service.ExportCacheService;
+import com.example.activos_tic.service.ExportJobService;
 import com.example.activos_tic.service.ExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.util.Date;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -22,29 +39,114 @@ import java.util.Date;
 @RequestMapping("/api/export")
 public class ExportController {
 
+    private static final MediaType XLSX = MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
     @Autowired
     private ExportService exportService;
 
+    @Autowired
+    private ExportCacheService exportCacheService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ExportJobService exportJobService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Served from the export cache while the data is unchanged; a client that already has this version gets a 304.
+    // The workbook is generated into the cache on a miss and copied to the response, never held in memory;
+    // the lease keeps the file on disk for the whole copy even if the cache evicts it meanwhile.
+    // Optional filters (see ExportFilter) narrow the export, e.g. ?department=TI or ?softwareName=Office&expiresTo=2025-09-30.
     @GetMapping("/excel")
     @PreAuthorize("hasRole('ADMIN')") // Only ADMIN can export all data
-    public ResponseEntity<InputStreamResource> exportAllDataToExcel() {
-        try {
-            ByteArrayInputStream in = exportService.exportAllDataToExcel();
-
-            HttpHeaders headers = new HttpHeaders();
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-            String filename = "ActivosTIC_Export_" + timestamp + ".xlsx";
-            headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename);
-
-            return ResponseEntity
-                    .ok()
-                    .headers(headers)
-                    .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                    .body(new InputStreamResource(in));
-        } catch (IOException e) {
-            // Log error
-            // Consider returning a proper error response DTO
-            return ResponseEntity.status(500).build();
+    public ResponseEntity<StreamingResponseBody> exportAllDataToExcel(ExportFilter filter, WebRequest request) {
+        exportService.validate(filter);
+        long version = dataVersionService.current();
+        String etag = dataVersionService.etag(version, filter.cacheKey());
+        if (request.checkNotModified(etag)) { // Also sets the ETag header on the response
+            return null;
         }
+        StreamingResponseBody body = out -> {
+            try (ExportCacheService.Lease file = exportCacheService.getOrCreate(version, filter, ExportService.ProgressListener.NONE)) {
+                Files.copy(file.path(), out);
+            }
+        };
+        return ResponseEntity
+                .ok()
+                .headers(attachmentHeaders(new Date()))
+                .contentType(XLSX)
+                .body(body);
+    }
+
+    // Starts the same export in the background; poll the returned job and download its file when DONE
+    @PostMapping("/jobs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ExportJobDto> createExportJob(ExportFilter filter) {
+        exportService.validate(filter);
+        ExportJobDto job = exportJobService.submit(filter);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/export/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/jobs/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ExportJobDto> getExportJob(@PathVariable String id) {
+        return ResponseEntity.ok(exportJobService.getJob(id));
+    }
+
+    @GetMapping("/jobs/{id}/file")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> downloadExportJobFile(@PathVariable String id) {
+        ExportJobDto job = exportJobService.getJob(id);
+        if (!ExportJobDto.DONE.equals(job.getStatus())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new MessageResponse("Export job is " + job.getStatus() + ", no file to download"));
+        }
+        if (!exportJobService.hasFile(id)) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .body(new MessageResponse("Export file is no longer cached, start a new export"));
+        }
+        // Leased only once the body runs and released once the copy ends, so a body that never runs pins nothing
+        StreamingResponseBody body = out -> {
+            try (ExportCacheService.Lease file = exportJobService.openFile(id)) {
+                if (file == null) {
+                    throw new IOException("Export file of job " + id + " was released before the download started");
+                }
+                Files.copy(file.path(), out);
+            }
+        };
+        return ResponseEntity.ok()
+                .headers(attachmentHeaders(Date.from(job.getCreatedAt())))
+                .contentType(XLSX)
+                .contentLength(job.getFileSize())
+                .body(body);
+    }
+
+    // Rows created, changed or deleted after since (ISO-8601 instant) as NDJSON. The last line carries the
+    // watermark to pass as since next time; a response without it was cut short and should be retried.
+    @GetMapping(value = "/changes", produces = NdjsonStreams.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> getChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since) {
+        changeFeedService.validateSince(since);
+        StreamingResponseBody body = NdjsonStreams.<ChangeDto>of(objectMapper, consumer -> changeFeedService.streamChanges(since, consumer));
+        return ResponseEntity.ok()
+                .contentType(NdjsonStreams.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private HttpHeaders attachmentHeaders(Date exportedAt) {
+        HttpHeaders headers = new HttpHeaders();
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(exportedAt);
+        String filename = "ActivosTIC_Export_" + timestamp + ".xlsx";
+        headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename);
+        return headers;
     }
 }
@@ -0,0 +1,68 @@
+package com.example.activos_tic.controller;
+
+import com.example.activos_tic.service.FeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+// CSV pulls for the analitica service: GET /api/feed/hardware.csv, /hardware.csv.gz or /snapshot.zip
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/feed")
+public class FeedController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    @Autowired
+    private FeedService feedService;
+
+    @GetMapping("/{table}.csv")
+    @PreAuthorize("hasRole('ADMIN')") // The feed includes the users table
+    public ResponseEntity<StreamingResponseBody> getTableCsv(@PathVariable String table) {
+        feedService.requireTable(table);
+        StreamingResponseBody body = out -> feedService.writeCsv(table, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + table + ".csv")
+                .contentType(TEXT_CSV)
+                .body(body);
+    }
+
+    // Same table gzip-compressed; pandas reads it directly with read_csv(url)
+    @GetMapping("/{table}.csv.gz")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> getTableCsvGzip(@PathVariable String table) {
+        feedService.requireTable(table);
+        StreamingResponseBody body = out -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024);
+            feedService.writeCsv(table, gzip);
+            gzip.finish();
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + table + ".csv.gz")
+                .contentType(APPLICATION_GZIP)
+                .body(body);
+    }
+
+    // Every table as <table>.csv in one zip, read in a single transaction
+    @GetMapping("/snapshot.zip")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> getSnapshot() {
+        StreamingResponseBody body = feedService::writeSnapshot;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=activos_tic_snapshot.zip")
+                .contentType(APPLICATION_ZIP)
+                .body(body);
+    }
+}
@@ -1,13 +1,18 @@
 package com.example.activos_tic.controller;
 
+import com.example.activos_tic.dto.BulkResultDto;
+import com.example.activos_tic.dto.CursorPage;
 import com.example.activos_tic.dto.HardwareDto;
+import com.example.activos_tic.dto.HardwareFilter;
 import com.example.activos_tic.service.AssetService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,6 +24,9 @@ public class HardwareController {
     @Autowired
     private AssetService assetService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<HardwareDto> createHardware(@Valid @RequestBody HardwareDto hardwareDto) {
@@ -26,13 +34,35 @@ public class HardwareController {
         return new ResponseEntity<>(createdHardware, HttpStatus.CREATED);
     }
 
+    // Creates items without an id and updates items with one; the response reports the outcome of every item
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkResultDto> bulkUpsertHardware(@RequestBody List<HardwareDto> items) {
+        BulkResultDto result = assetService.bulkUpsertHardware(items);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
-    public ResponseEntity<List<HardwareDto>> getAllHardware() {
-        List<HardwareDto> hardwareList = assetService.getAllHardware();
+    public ResponseEntity<CursorPage<HardwareDto>> getAllHardware(
+            HardwareFilter filter,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + AssetService.DEFAULT_PAGE_SIZE) int limit) {
+        CursorPage<HardwareDto> hardwareList = assetService.getAllHardware(filter, sort, after, limit);
         return ResponseEntity.ok(hardwareList);
     }
 
+    // Same collection as above, streamed row by row for clients sending Accept: application/x-ndjson
+    @GetMapping(produces = NdjsonStreams.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<StreamingResponseBody> streamAllHardware() {
+        StreamingResponseBody body = NdjsonStreams.<HardwareDto>of(objectMapper, assetService::streamAllHardware);
+        return ResponseEntity.ok()
+                .contentType(NdjsonStreams.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     public ResponseEntity<HardwareDto> getHardwareById(@PathVariable Long id) {
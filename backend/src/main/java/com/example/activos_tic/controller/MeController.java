@@ -0,0 +1,29 @@
+package com.example.activos_tic.controller;
+
+import com.example.activos_tic.dto.EmployeeAssetsDto;
+import com.example.activos_tic.service.AssetService;
+import com.example.activos_tic.service.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/me")
+public class MeController {
+
+    @Autowired
+    private AssetService assetService;
+
+    // Users are not linked to employees yet, so the user id is used as the employee id
+    // (same convention the frontend's "My Assets" page has always relied on). A user with no matching
+    // employee gets empty lists, not a 404.
+    @GetMapping("/assets")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<EmployeeAssetsDto> getMyAssets(@AuthenticationPrincipal UserDetailsImpl currentUser) {
+        EmployeeAssetsDto assets = assetService.getAssetsForUser(currentUser.getId());
+        return ResponseEntity.ok(assets);
+    }
+}
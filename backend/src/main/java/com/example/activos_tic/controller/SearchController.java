@@ -0,0 +1,28 @@
+package com.example.activos_tic.controller;
+
+import com.example.activos_tic.dto.SearchResultDto;
+import com.example.activos_tic.service.AssetSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    @Autowired
+    private AssetSearchService assetSearchService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<List<SearchResultDto>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + AssetSearchService.DEFAULT_LIMIT) int limit) {
+        List<SearchResultDto> results = assetSearchService.search(q, limit);
+        return ResponseEntity.ok(results);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.activos_tic.controller;
 
+import com.example.activos_tic.dto.CursorPage;
 import com.example.activos_tic.dto.WebAccessDto;
 import com.example.activos_tic.service.AssetService;
 import jakarta.validation.Valid;
@@ -9,8 +10,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/web-accesses")
@@ -28,8 +27,11 @@ public class WebAccessController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
-    public ResponseEntity<List<WebAccessDto>> getAllWebAccesses() {
-        List<WebAccessDto> webAccesses = assetService.getAllWebAccesses();
+    public ResponseEntity<CursorPage<WebAccessDto>> getAllWebAccesses(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + AssetService.DEFAULT_PAGE_SIZE) int limit) {
+        CursorPage<WebAccessDto> webAccesses = assetService.getAllWebAccesses(sort, after, limit);
         return ResponseEntity.ok(webAccesses);
     }
 
@@ -0,0 +1,39 @@
+package com.example.activos_tic.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Tombstone of a deleted employee or asset, so the change feed can report deletes
+@Entity
+@Table(name = "deleted_records", indexes = {
+    @Index(name = "idx_deleted_records_deleted_at", columnList = "deleted_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class DeletedRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deleted_records_seq")
+    @SequenceGenerator(name = "deleted_records_seq", sequenceName = "deleted_records_seq", allocationSize = 50)
+    private Long id;
+
+    // Table the row was deleted from: employees, hardware, licenses or web_accesses
+    @Column(name = "table_name", nullable = false, length = 20)
+    private String tableName;
+
+    @Column(name = "record_id", nullable = false)
+    private Long recordId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    public DeletedRecord(String tableName, Long recordId, Instant deletedAt) {
+        this.tableName = tableName;
+        this.recordId = recordId;
+        this.deletedAt = deletedAt;
+    }
+}
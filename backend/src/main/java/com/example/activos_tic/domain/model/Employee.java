@@ -9,12 +9,16 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+    @Index(name = "idx_employees_department", columnList = "department"),
+    @Index(name = "idx_employees_name", columnList = "name"),
+    @Index(name = "idx_employees_updated_at", columnList = "updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class Employee {
+public class Employee extends AuditedEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
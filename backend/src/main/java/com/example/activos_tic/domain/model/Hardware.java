@@ -9,14 +9,21 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 @Entity
-@Table(name = "hardware")
+@Table(name = "hardware", indexes = {
+    @Index(name = "idx_hardware_employee", columnList = "employee_id"),
+    @Index(name = "idx_hardware_type_brand", columnList = "type, brand"),
+    @Index(name = "idx_hardware_brand", columnList = "brand"),
+    @Index(name = "idx_hardware_location", columnList = "location"),
+    @Index(name = "idx_hardware_updated_at", columnList = "updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class Hardware {
+public class Hardware extends AuditedEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hardware_seq")
+    @SequenceGenerator(name = "hardware_seq", sequenceName = "hardware_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
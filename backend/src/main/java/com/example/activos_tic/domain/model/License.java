@@ -11,14 +11,20 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "licenses")
+@Table(name = "licenses", indexes = {
+    @Index(name = "idx_licenses_employee", columnList = "employee_id"),
+    @Index(name = "idx_licenses_software_name", columnList = "softwareName"),
+    @Index(name = "idx_licenses_expiration_date", columnList = "expirationDate"),
+    @Index(name = "idx_licenses_updated_at", columnList = "updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class License {
+public class License extends AuditedEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "licenses_seq")
+    @SequenceGenerator(name = "licenses_seq", sequenceName = "licenses_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -9,12 +9,15 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 @Entity
-@Table(name = "web_accesses")
+@Table(name = "web_accesses", indexes = {
+    @Index(name = "idx_web_accesses_employee", columnList = "employee_id"),
+    @Index(name = "idx_web_accesses_updated_at", columnList = "updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class WebAccess {
+public class WebAccess extends AuditedEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
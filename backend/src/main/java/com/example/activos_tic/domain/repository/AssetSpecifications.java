@@ -0,0 +1,99 @@
+package com.example.activos_tic.domain.repository;
+
+import com.example.activos_tic.domain.model.Employee;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Reusable query fragments for the asset list endpoints and the filtered export. A helper returns {@code null} when its
+ * argument is empty, and {@link Specification#where}/{@code and} skip null specifications,
+ * so optional filters compose without branching.
+ */
+public final class AssetSpecifications {
+
+    private AssetSpecifications() {
+    }
+
+    // Exact match so the lookup can use the column index
+    public static <T> Specification<T> fieldEquals(String field, String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(field), value);
+    }
+
+    // Inclusive on both ends; either bound may be omitted
+    public static <T> Specification<T> dateBetween(String field, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<LocalDate> path = root.get(field);
+            if (from == null) {
+                return cb.lessThanOrEqualTo(path, to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(path, from);
+            }
+            return cb.between(path, from, to);
+        };
+    }
+
+    public static <T> Specification<T> idIn(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    // Compares the employee_id foreign key itself, no join to employees
+    public static <T> Specification<T> assignedToAny(Collection<Long> employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("assignedEmployee").get("id").in(employeeIds);
+    }
+
+    // employee_id IN (employees of the department), so both the department and the employee_id indexes apply
+    public static <T> Specification<T> assignedToDepartment(String department) {
+        if (!StringUtils.hasText(department)) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Subquery<Long> employees = query.subquery(Long.class);
+            Root<Employee> employee = employees.from(Employee.class);
+            employees.select(employee.get("id")).where(cb.equal(employee.get("department"), department));
+            return root.get("assignedEmployee").get("id").in(employees);
+        };
+    }
+
+    /**
+     * Keyset seek for a result ordered by (field, id): keeps only rows that sort after the row
+     * whose sort value is {@code lastValue} and whose id is {@code lastId}. Written as
+     * {@code field >= v AND (field > v OR id > lastId)}: the leading range lets the database
+     * scan the field's index from v, where the plain OR form is a full table scan.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Specification<T> seekAfter(String field, Comparable lastValue, Long lastId, boolean descending) {
+        if (lastId == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            if ("id".equals(field)) {
+                return descending ? cb.lessThan(id, lastId) : cb.greaterThan(id, lastId);
+            }
+            Path<Comparable> path = root.get(field);
+            return cb.and(
+                    descending ? cb.lessThanOrEqualTo(path, lastValue) : cb.greaterThanOrEqualTo(path, lastValue),
+                    cb.or(descending ? cb.lessThan(path, lastValue) : cb.greaterThan(path, lastValue),
+                            descending ? cb.lessThan(id, lastId) : cb.greaterThan(id, lastId)));
+        };
+    }
+}
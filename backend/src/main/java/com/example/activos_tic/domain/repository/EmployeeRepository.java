@@ -1,10 +1,50 @@
 package com.example.activos_tic.domain.repository;
 
 import com.example.activos_tic.domain.model.Employee;
+import com.example.activos_tic.dto.EmployeeDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     // Add custom queries if needed, e.g., findByDepartment
+
+    @Query("SELECT e.id FROM Employee e WHERE e.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.name FROM Employee e WHERE e.id = :id")
+    Optional<String> findNameById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Employee e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Cursor-backed full scan; must be consumed inside a transaction and closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Employee e ORDER BY e.id")
+    Stream<Employee> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.activos_tic.dto.EmployeeDto(e.id, e.name, e.department, e.position) FROM Employee e ORDER BY e.id")
+    Stream<EmployeeDto> streamAllDtos();
+
+    // Rows created or changed after the watermark, for the change feed (served by the updated_at index)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.activos_tic.dto.EmployeeDto(e.id, e.name, e.department, e.position) FROM Employee e WHERE e.updatedAt > :since ORDER BY e.id")
+    Stream<EmployeeDto> streamDtosUpdatedAfter(@Param("since") Instant since);
 }
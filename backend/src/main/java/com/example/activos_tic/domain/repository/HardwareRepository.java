@@ -1,15 +1,62 @@
 package com.example.activos_tic.domain.repository;
 
 import com.example.activos_tic.domain.model.Hardware;
+import com.example.activos_tic.dto.HardwareDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface HardwareRepository extends JpaRepository<Hardware, Long> {
     Optional<Hardware> findBySerialNumber(String serialNumber);
+    List<Hardware> findBySerialNumberIn(Collection<String> serialNumbers);
     // Add custom queries if needed, e.g., findByType, findByAssignedEmployee
     List<Hardware> findByAssignedEmployee_Id(Long employeeId);
+
+    // Single-row reads that also return the assigned employee's name, in one statement
+    @EntityGraph(attributePaths = "assignedEmployee")
+    Optional<Hardware> findWithAssignedEmployeeById(Long id);
+
+    // Set-based unassignment: one UPDATE instead of loading and saving every assigned row.
+    // Sets updatedAt itself, since bulk updates bypass JPA auditing.
+    @Modifying
+    @Query("UPDATE Hardware h SET h.assignedEmployee = null, h.updatedAt = :now WHERE h.assignedEmployee.id IN :employeeIds")
+    int unassignEmployees(@Param("employeeIds") Collection<Long> employeeIds, @Param("now") Instant now);
+
+    // Cursor-backed variant for streaming responses; must be consumed inside a transaction and closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT h FROM Hardware h LEFT JOIN FETCH h.assignedEmployee ORDER BY h.id")
+    Stream<Hardware> streamAllWithAssignedEmployee();
+
+    // DTO projections: rows are read straight into the response shape, so nothing enters the persistence context
+    @Query("SELECT new com.example.activos_tic.dto.HardwareDto(h.id, h.type, h.brand, h.serialNumber, h.location, e.id, e.name) "
+            + "FROM Hardware h JOIN h.assignedEmployee e WHERE e.id = :employeeId ORDER BY h.id")
+    List<HardwareDto> findDtosByAssignedEmployeeId(@Param("employeeId") Long employeeId);
+
+    // Projection counterpart of streamAllWithAssignedEmployee; no entities, so no periodic clear() is needed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.activos_tic.dto.HardwareDto(h.id, h.type, h.brand, h.serialNumber, h.location, e.id, e.name) "
+            + "FROM Hardware h LEFT JOIN h.assignedEmployee e ORDER BY h.id")
+    Stream<HardwareDto> streamAllDtos();
+
+    // Rows created or changed after the watermark, for the change feed (served by the updated_at index)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.activos_tic.dto.HardwareDto(h.id, h.type, h.brand, h.serialNumber, h.location, e.id, e.name) "
+            + "FROM Hardware h LEFT JOIN h.assignedEmployee e WHERE h.updatedAt > :since ORDER BY h.id")
+    Stream<HardwareDto> streamDtosUpdatedAfter(@Param("since") Instant since);
 }
@@ -1,15 +1,62 @@
 package com.example.activos_tic.domain.repository;
 
 import com.example.activos_tic.domain.model.License;
+import com.example.activos_tic.dto.LicenseDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LicenseRepository extends JpaRepository<License, Long> {
     Optional<License> findByLicenseKey(String licenseKey);
+    List<License> findByLicenseKeyIn(Collection<String> licenseKeys);
     // Add custom queries if needed, e.g., findBySoftwareName, findByAssignedEmployee
     List<License> findByAssignedEmployee_Id(Long employeeId);
+
+    // Same as findById plus the assigned employee, so by-id reads and updates need one statement
+    @EntityGraph(attributePaths = "assignedEmployee")
+    Optional<License> findWithAssignedEmployeeById(Long id);
+
+    // Set-based unassignment: one UPDATE instead of loading and saving every assigned row.
+    // Sets updatedAt itself, since bulk updates bypass JPA auditing.
+    @Modifying
+    @Query("UPDATE License l SET l.assignedEmployee = null, l.updatedAt = :now WHERE l.assignedEmployee.id IN :employeeIds")
+    int unassignEmployees(@Param("employeeIds") Collection<Long> employeeIds, @Param("now") Instant now);
+
+    // Cursor-backed variant for streaming responses; must be consumed inside a transaction and closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l FROM License l LEFT JOIN FETCH l.assignedEmployee ORDER BY l.id")
+    Stream<License> streamAllWithAssignedEmployee();
+
+    // Read straight into LicenseDto; the persistence context stays empty
+    @Query("SELECT new com.example.activos_tic.dto.LicenseDto(l.id, l.softwareName, l.licenseKey, l.purchaseDate, l.expirationDate, e.id, e.name) "
+            + "FROM License l JOIN l.assignedEmployee e WHERE e.id = :employeeId ORDER BY l.id")
+    List<LicenseDto> findDtosByAssignedEmployeeId(@Param("employeeId") Long employeeId);
+
+    // Streamed projection for NDJSON responses; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.activos_tic.dto.LicenseDto(l.id, l.softwareName, l.licenseKey, l.purchaseDate, l.expirationDate, e.id, e.name) "
+            + "FROM License l LEFT JOIN l.assignedEmployee e ORDER BY l.id")
+    Stream<LicenseDto> streamAllDtos();
+
+    // Rows created or changed after the watermark, for the change feed (served by the updated_at index)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.activos_tic.dto.LicenseDto(l.id, l.softwareName, l.licenseKey, l.purchaseDate, l.expirationDate, e.id, e.name) "
+            + "FROM License l LEFT JOIN l.assignedEmployee e WHERE l.updatedAt > :since ORDER BY l.id")
+    Stream<LicenseDto> streamDtosUpdatedAfter(@Param("since") Instant since);
 }
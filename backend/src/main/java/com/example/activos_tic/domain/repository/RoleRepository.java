@@ -3,11 +3,17 @@ package com.example.activos_tic.domain.repository;
 import com.example.activos_tic.domain.model.ERole;
 import com.example.activos_tic.domain.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByName(ERole name);
+
+    // Rows of the analytics feed (id, name)
+    @Query("SELECT r.id, r.name FROM Role r ORDER BY r.id")
+    Stream<Object[]> streamFeedRows();
 }
@@ -1,13 +1,59 @@
 package com.example.activos_tic.domain.repository;
 
 import com.example.activos_tic.domain.model.WebAccess;
+import com.example.activos_tic.dto.WebAccessDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface WebAccessRepository extends JpaRepository<WebAccess, Long> {
     // Add custom queries if needed, e.g., findByServiceName, findByAssignedEmployee
     List<WebAccess> findByAssignedEmployee_Id(Long employeeId);
+
+    @EntityGraph(attributePaths = "assignedEmployee")
+    Optional<WebAccess> findWithAssignedEmployeeById(Long id);
+
+    // Set-based unassignment: one UPDATE instead of loading and saving every assigned row.
+    // Sets updatedAt itself, since bulk updates bypass JPA auditing.
+    @Modifying
+    @Query("UPDATE WebAccess w SET w.assignedEmployee = null, w.updatedAt = :now WHERE w.assignedEmployee.id IN :employeeIds")
+    int unassignEmployees(@Param("employeeIds") Collection<Long> employeeIds, @Param("now") Instant now);
+
+    // Cursor-backed variant for streaming reads; must be consumed inside a transaction and closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT w FROM WebAccess w LEFT JOIN FETCH w.assignedEmployee ORDER BY w.id")
+    Stream<WebAccess> streamAllWithAssignedEmployee();
+
+    // Read straight into WebAccessDto; the persistence context stays empty
+    @Query("SELECT new com.example.activos_tic.dto.WebAccessDto(w.id, w.url, w.serviceName, w.accessUsername, w.accessPassword, e.id, e.name) "
+            + "FROM WebAccess w JOIN w.assignedEmployee e WHERE e.id = :employeeId ORDER BY w.id")
+    List<WebAccessDto> findDtosByAssignedEmployeeId(@Param("employeeId") Long employeeId);
+
+    // Export stream; the password column is selected only because the DTO constructor takes it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.activos_tic.dto.WebAccessDto(w.id, w.url, w.serviceName, w.accessUsername, w.accessPassword, e.id, e.name) "
+            + "FROM WebAccess w LEFT JOIN w.assignedEmployee e ORDER BY w.id")
+    Stream<WebAccessDto> streamAllDtos();
+
+    // Rows created or changed after the watermark, for the change feed (served by the updated_at index)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.activos_tic.dto.WebAccessDto(w.id, w.url, w.serviceName, w.accessUsername, w.accessPassword, e.id, e.name) "
+            + "FROM WebAccess w LEFT JOIN w.assignedEmployee e WHERE w.updatedAt > :since ORDER BY w.id")
+    Stream<WebAccessDto> streamDtosUpdatedAfter(@Param("since") Instant since);
 }
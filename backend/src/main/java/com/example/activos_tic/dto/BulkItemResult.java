@@ -0,0 +1,17 @@
+package com.example.activos_tic.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+
+@Data
+@AllArgsConstructor
+public class BulkItemResult {
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String FAILED = "FAILED";
+
+    private int index; // Position of the item in the request array
+    private Long id;
+    private String status;
+    private String message;
+}
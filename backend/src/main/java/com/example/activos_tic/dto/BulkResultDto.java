@@ -0,0 +1,23 @@
+package com.example.activos_tic.dto;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkResultDto {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResult> items = new ArrayList<>();
+
+    public void add(BulkItemResult item) {
+        items.add(item);
+        if (BulkItemResult.FAILED.equals(item.getStatus())) {
+            failed++;
+        } else {
+            succeeded++;
+        }
+        total++;
+    }
+}
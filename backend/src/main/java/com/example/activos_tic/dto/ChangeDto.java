@@ -0,0 +1,25 @@
+package com.example.activos_tic.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// One line of the change feed; the last line of a complete response is the WATERMARK
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeDto {
+    public static final String UPSERT = "UPSERT";
+    public static final String DELETE = "DELETE";
+    public static final String WATERMARK = "WATERMARK";
+
+    private String change;
+    private String table; // employees, hardware, licenses or web_accesses
+    private Long id;
+    private Object data; // The current row, for UPSERT
+    private Instant watermark; // Pass as since on the next call, for WATERMARK
+}
@@ -0,0 +1,13 @@
+package com.example.activos_tic.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor; // Opaque; pass as ?after= to fetch the next page; null on the last page
+}
@@ -0,0 +1,12 @@
+package com.example.activos_tic.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class EmployeeAssetsDto {
+    private EmployeeDto employee;
+    private List<HardwareDto> hardware;
+    private List<LicenseDto> licenses;
+    private List<WebAccessDto> webAccesses;
+}
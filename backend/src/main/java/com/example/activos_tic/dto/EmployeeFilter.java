@@ -0,0 +1,8 @@
+package com.example.activos_tic.dto;
+
+import lombok.Data;
+
+@Data
+public class EmployeeFilter {
+    private String department;
+}
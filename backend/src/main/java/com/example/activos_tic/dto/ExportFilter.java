@@ -0,0 +1,63 @@
+package com.example.activos_tic.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+// Optional filters of the Excel export; every one that is set narrows the export
+@Data
+public class ExportFilter {
+    // Employees of the department, and the assets assigned to them
+    private String department;
+    // Employees with these ids, and the assets assigned to them
+    private List<Long> employeeIds;
+
+    // Hardware only: the export is limited to the Hardware sheet
+    private String hardwareType;
+    private String location;
+
+    // Licenses only: the export is limited to the Licenses sheet
+    private String softwareName;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiresFrom; // Inclusive
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiresTo; // Inclusive
+
+    public boolean hasHardwareFilter() {
+        return StringUtils.hasText(hardwareType) || StringUtils.hasText(location);
+    }
+
+    public boolean hasLicenseFilter() {
+        return StringUtils.hasText(softwareName) || expiresFrom != null || expiresTo != null;
+    }
+
+    public boolean hasAnyFilter() {
+        return StringUtils.hasText(department) || (employeeIds != null && !employeeIds.isEmpty())
+                || hasHardwareFilter() || hasLicenseFilter();
+    }
+
+    // Equal for the same filters whatever the order of employeeIds; empty when nothing is filtered.
+    // Every part is length-prefixed, so values containing the separator cannot collide.
+    public String cacheKey() {
+        if (!hasAnyFilter()) {
+            return "";
+        }
+        TreeSet<Long> ids = new TreeSet<>();
+        if (employeeIds != null) {
+            employeeIds.stream().filter(Objects::nonNull).forEach(ids::add);
+        }
+        StringBuilder key = new StringBuilder();
+        for (Object part : new Object[]{department, ids, hardwareType, location, softwareName, expiresFrom, expiresTo}) {
+            String text = Objects.toString(part, "");
+            key.append(text.length()).append(':').append(text);
+        }
+        return key.toString();
+    }
+}
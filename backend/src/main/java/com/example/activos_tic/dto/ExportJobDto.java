@@ -0,0 +1,22 @@
+package com.example.activos_tic.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+public class ExportJobDto {
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    private String id;
+    private String status;
+    private Instant createdAt;
+    private Instant finishedAt;
+    private Map<String, Long> rowsWritten; // Data rows written so far, by sheet name; every sheet once DONE
+    private Long fileSize; // Bytes; set once the job is DONE
+    private String error; // Set when the job FAILED
+}
@@ -1,10 +1,14 @@
 package com.example.activos_tic.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor // Field order is the constructor order used by the list projections
 public class HardwareDto {
     private Long id;
 
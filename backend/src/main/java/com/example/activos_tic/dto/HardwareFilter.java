@@ -0,0 +1,10 @@
+package com.example.activos_tic.dto;
+
+import lombok.Data;
+
+@Data
+public class HardwareFilter {
+    private String type;
+    private String brand;
+    private String location;
+}
@@ -1,11 +1,15 @@
 package com.example.activos_tic.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor // Field order is the constructor order used by the list projections
 public class LicenseDto {
     private Long id;
 
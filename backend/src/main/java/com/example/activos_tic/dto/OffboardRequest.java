@@ -0,0 +1,11 @@
+package com.example.activos_tic.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class OffboardRequest {
+    @NotEmpty
+    private List<Long> employeeIds;
+}
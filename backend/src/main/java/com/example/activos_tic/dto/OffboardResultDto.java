@@ -0,0 +1,13 @@
+package com.example.activos_tic.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class OffboardResultDto {
+    private int deletedEmployees;
+    private List<Long> notFoundIds;
+    private int unassignedHardware;
+    private int unassignedLicenses;
+    private int unassignedWebAccesses;
+}
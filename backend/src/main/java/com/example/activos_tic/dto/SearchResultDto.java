@@ -0,0 +1,15 @@
+package com.example.activos_tic.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+
+@Data
+@AllArgsConstructor
+public class SearchResultDto {
+    private String type; // HARDWARE, LICENSE, WEB_ACCESS or EMPLOYEE
+    private Long id;
+    private String title;
+    private String detail;
+    private Long assignedEmployeeId;
+    private int score;
+}
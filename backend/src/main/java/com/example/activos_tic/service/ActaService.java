@@ -0,0 +1,451 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.domain.model.Employee;
+import com.example.activos_tic.domain.model.Hardware;
+import com.example.activos_tic.domain.model.License;
+import com.example.activos_tic.domain.model.WebAccess;
+import com.example.activos_tic.domain.repository.AssetSpecifications;
+import com.example.activos_tic.dto.CursorPage;
+import com.example.activos_tic.dto.EmployeeAssetsDto;
+import com.example.activos_tic.dto.EmployeeDto;
+import com.example.activos_tic.dto.EmployeeFilter;
+import com.example.activos_tic.dto.HardwareDto;
+import com.example.activos_tic.dto.LicenseDto;
+import com.example.activos_tic.dto.WebAccessDto;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFStyle;
+import org.apache.poi.xwpf.usermodel.XWPFStyles;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTRPr;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTStyle;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STStyleType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Asset assignment certificates (actas) as .docx, with the same content as the acta of the analitica
+ * service: employee data, the assigned hardware, licenses and web accesses, and the signature page.
+ * <p>
+ * The parts every acta shares (content types, relationships, settings, styles) are built once with
+ * POI and kept as ready-to-copy zip entries; each acta only writes its own word/document.xml, which
+ * costs a fraction of building the document through XWPF. A department is read in keyset pages of
+ * {@link #BATCH_SIZE} employees, with one query per asset table per page; each page is rendered on a
+ * small pool and written to the zip in order before the next one is read, so memory stays bounded by
+ * one page whatever the department size.
+ */
+@Service
+public class ActaService {
+
+    public static final String DOCX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    // Employees whose assets are read and whose actas are rendered together
+    private static final int BATCH_SIZE = 100;
+    private static final String DOCUMENT_PART = "word/document.xml";
+    private static final String WORDML_NAMESPACE = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Autowired
+    private AssetService assetService;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final DocxTemplate template;
+    // Rendering is CPU-bound and touches no connection, so one thread per core is enough
+    private final ExecutorService renderExecutor = WorkerPools.unbounded("acta-render",
+            Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    public ActaService(PlatformTransactionManager transactionManager) throws IOException {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.template = DocxTemplate.build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renderExecutor.shutdownNow();
+    }
+
+    @Transactional(readOnly = true)
+    public byte[] generateActa(Long employeeId) {
+        return render(assetService.getAssetsForEmployee(employeeId), LocalDateTime.now());
+    }
+
+    private static String fileName(EmployeeDto employee) {
+        String name = employee.getName() == null ? "" : employee.getName().replaceAll("[^\\p{L}\\p{N}]+", "_");
+        return "acta_" + employee.getId() + (name.isEmpty() ? "" : "_" + name) + ".docx";
+    }
+
+    // Called before the zip response starts, so an unknown department is a 404 and not an empty download
+    public void requireDepartment(String department) {
+        if (!assetService.anyMatching(Employee.class, inDepartment(department))) {
+            throw new EntityNotFoundException("No employees found in department: " + department);
+        }
+    }
+
+    // One acta_<id>_<name>.docx per employee of the department, in id order
+    public void writeDepartmentActas(String department, OutputStream out) throws IOException {
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setDepartment(department);
+        LocalDateTime generatedAt = LocalDateTime.now();
+        ZipOutputStream zip = new ZipOutputStream(out);
+        String after = null;
+        do {
+            // One keyset page per batch, each its own short read; nothing outlives the batch
+            CursorPage<EmployeeDto> page = assetService.getAllEmployees(filter, null, after, BATCH_SIZE);
+            List<EmployeeDto> batch = page.getItems();
+            List<Future<byte[]>> actas = new ArrayList<>();
+            for (EmployeeAssetsDto assets : loadAssets(batch)) {
+                actas.add(renderExecutor.submit(() -> render(assets, generatedAt)));
+            }
+            try {
+                for (int i = 0; i < batch.size(); i++) {
+                    zip.putNextEntry(new ZipEntry(fileName(batch.get(i))));
+                    zip.write(await(actas.get(i)));
+                    zip.closeEntry();
+                }
+            } finally {
+                // A client that went away must not leave the rest of the batch rendering
+                actas.forEach(acta -> acta.cancel(true));
+            }
+            after = page.getNextCursor();
+        } while (after != null);
+        zip.finish();
+    }
+
+    // The assets of a batch of employees, three indexed queries whatever the batch size
+    private List<EmployeeAssetsDto> loadAssets(List<EmployeeDto> employees) {
+        if (employees.isEmpty()) {
+            return List.of(); // No ids would mean no filter on the asset queries
+        }
+        List<Long> ids = employees.stream().map(EmployeeDto::getId).collect(Collectors.toList());
+        return readOnlyTransaction.execute(status -> {
+            Map<Long, List<HardwareDto>> hardware = byEmployee(
+                    assetService.streamHardware(AssetSpecifications.<Hardware>assignedToAny(ids)), HardwareDto::getAssignedEmployeeId);
+            Map<Long, List<LicenseDto>> licenses = byEmployee(
+                    assetService.streamLicenses(AssetSpecifications.<License>assignedToAny(ids)), LicenseDto::getAssignedEmployeeId);
+            Map<Long, List<WebAccessDto>> webAccesses = byEmployee(
+                    assetService.streamWebAccesses(AssetSpecifications.<WebAccess>assignedToAny(ids)), WebAccessDto::getAssignedEmployeeId);
+            List<EmployeeAssetsDto> result = new ArrayList<>(employees.size());
+            for (EmployeeDto employee : employees) {
+                EmployeeAssetsDto assets = new EmployeeAssetsDto();
+                assets.setEmployee(employee);
+                assets.setHardware(hardware.getOrDefault(employee.getId(), List.of()));
+                assets.setLicenses(licenses.getOrDefault(employee.getId(), List.of()));
+                assets.setWebAccesses(webAccesses.getOrDefault(employee.getId(), List.of()));
+                result.add(assets);
+            }
+            return result;
+        });
+    }
+
+    private static <D> Map<Long, List<D>> byEmployee(Stream<D> rows, Function<D, Long> employeeId) {
+        try (rows) {
+            return rows.collect(Collectors.groupingBy(employeeId, LinkedHashMap::new, Collectors.toList()));
+        }
+    }
+
+    private static Specification<Employee> inDepartment(String department) {
+        return Specification.where(AssetSpecifications.fieldEquals("department", department));
+    }
+
+    private static byte[] await(Future<byte[]> acta) throws IOException {
+        try {
+            return acta.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Acta generation interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Acta generation failed", e.getCause());
+        }
+    }
+
+    // --- Rendering ---
+    // Only word/document.xml is written per acta; the other parts are copied as stored entries
+    private byte[] render(EmployeeAssetsDto assets, LocalDateTime generatedAt) {
+        EmployeeDto employee = assets.getEmployee();
+        DocumentXml body = new DocumentXml();
+        body.heading("Heading1", "Acta de Asignación de Activos TIC", true);
+        body.emptyParagraph();
+
+        body.heading("Heading2", "Información del Empleado", false);
+        body.paragraph("Nombre: " + orNa(employee.getName()));
+        body.paragraph("Departamento: " + orNa(employee.getDepartment()));
+        body.paragraph("Cargo: " + orNa(employee.getPosition()));
+        body.paragraph("Fecha de Generación: " + generatedAt.format(TIMESTAMP_FORMATTER));
+        body.emptyParagraph();
+
+        body.heading("Heading2", "Equipos de Hardware Asignados", false);
+        if (assets.getHardware().isEmpty()) {
+            body.paragraph("No hay equipos de hardware asignados.");
+        } else {
+            body.startTable("Tipo", "Marca", "Serial", "Ubicación");
+            for (HardwareDto hardware : assets.getHardware()) {
+                body.row(hardware.getType(), hardware.getBrand(), hardware.getSerialNumber(), hardware.getLocation());
+            }
+            body.endTable();
+        }
+        body.emptyParagraph();
+
+        body.heading("Heading2", "Licencias de Software Asignadas", false);
+        if (assets.getLicenses().isEmpty()) {
+            body.paragraph("No hay licencias de software asignadas.");
+        } else {
+            body.startTable("Software", "Clave", "Expiración");
+            for (LicenseDto license : assets.getLicenses()) {
+                body.row(license.getSoftwareName(), license.getLicenseKey(), formatDate(license.getExpirationDate()));
+            }
+            body.endTable();
+        }
+        body.emptyParagraph();
+
+        // Passwords stay out of the acta, as in the Excel export
+        body.heading("Heading2", "Accesos Web Asignados", false);
+        if (assets.getWebAccesses().isEmpty()) {
+            body.paragraph("No hay accesos web asignados.");
+        } else {
+            body.startTable("Servicio", "URL", "Usuario");
+            for (WebAccessDto webAccess : assets.getWebAccesses()) {
+                body.row(webAccess.getServiceName(), webAccess.getUrl(), webAccess.getAccessUsername());
+            }
+            body.endTable();
+        }
+
+        body.pageBreak();
+        body.heading("Heading2", "Firmas", false);
+        body.signature("Firma del Empleado: " + orNa(employee.getName()));
+        body.signature("Firma del Responsable (Admin)");
+
+        try {
+            return template.write(body.finish());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not render acta for employee " + employee.getId(), e);
+        }
+    }
+
+    private static String orNa(String value) {
+        return value == null || value.isBlank() ? "N/A" : value;
+    }
+
+    private static String formatDate(LocalDate date) {
+        return date != null ? date.format(DATE_FORMATTER) : "N/A";
+    }
+
+    /** The WordprocessingML body of one acta, built from the same markup POI writes for these elements. */
+    private static final class DocumentXml {
+        private static final String TABLE_START = "<w:tbl><w:tblPr><w:tblW w:w=\"5000\" w:type=\"pct\"/><w:tblBorders>"
+                + "<w:top w:val=\"single\"/><w:left w:val=\"single\"/><w:bottom w:val=\"single\"/><w:right w:val=\"single\"/>"
+                + "<w:insideH w:val=\"single\"/><w:insideV w:val=\"single\"/></w:tblBorders></w:tblPr>";
+        // Text width of the default page (Letter, 1" margins), in twentieths of a point
+        private static final int TEXT_WIDTH_TWIPS = 9360;
+
+        private final StringBuilder xml = new StringBuilder(8 * 1024)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                .append("<w:document xmlns:w=\"").append(WORDML_NAMESPACE).append("\"><w:body>");
+
+        void heading(String styleId, String text, boolean centered) {
+            xml.append("<w:p><w:pPr><w:pStyle w:val=\"").append(styleId).append("\"/>");
+            if (centered) {
+                xml.append("<w:jc w:val=\"center\"/>");
+            }
+            xml.append("</w:pPr>");
+            run(text, false);
+            xml.append("</w:p>");
+        }
+
+        void paragraph(String text) {
+            xml.append("<w:p>");
+            run(text, false);
+            xml.append("</w:p>");
+        }
+
+        void emptyParagraph() {
+            xml.append("<w:p/>");
+        }
+
+        void pageBreak() {
+            xml.append("<w:p><w:r><w:br w:type=\"page\"/></w:r></w:p>");
+        }
+
+        void signature(String caption) {
+            xml.append("<w:p><w:r><w:br/><w:br/><w:t>_________________________</w:t><w:br/>");
+            text(caption);
+            xml.append("</w:r></w:p>");
+        }
+
+        // A full-width bordered table with a bold header row. The grid splits the width evenly; Word
+        // and LibreOffice need it to lay the table out, and the schema requires it after tblPr.
+        void startTable(String... headers) {
+            xml.append(TABLE_START).append("<w:tblGrid>");
+            for (int i = 0; i < headers.length; i++) {
+                xml.append("<w:gridCol w:w=\"").append(TEXT_WIDTH_TWIPS / headers.length).append("\"/>");
+            }
+            xml.append("</w:tblGrid><w:tr>");
+            for (String header : headers) {
+                cell(header, true);
+            }
+            xml.append("</w:tr>");
+        }
+
+        void row(String... values) {
+            xml.append("<w:tr>");
+            for (String value : values) {
+                cell(value, false);
+            }
+            xml.append("</w:tr>");
+        }
+
+        void endTable() {
+            xml.append("</w:tbl>");
+        }
+
+        byte[] finish() {
+            return xml.append("</w:body></w:document>").toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private void cell(String value, boolean bold) {
+            xml.append("<w:tc><w:p>");
+            run(value, bold);
+            xml.append("</w:p></w:tc>");
+        }
+
+        private void run(String value, boolean bold) {
+            xml.append(bold ? "<w:r><w:rPr><w:b/></w:rPr>" : "<w:r>");
+            text(value);
+            xml.append("</w:r>");
+        }
+
+        private void text(String value) {
+            xml.append("<w:t xml:space=\"preserve\">");
+            if (value != null) {
+                for (int i = 0; i < value.length(); ) {
+                    int c = value.codePointAt(i);
+                    i += Character.charCount(c);
+                    switch (c) {
+                        case '&' -> xml.append("&amp;");
+                        case '<' -> xml.append("&lt;");
+                        case '>' -> xml.append("&gt;");
+                        default -> {
+                            // Characters XML 1.0 does not allow are dropped: control characters, lone surrogates, U+FFFE/U+FFFF
+                            if (isXmlChar(c)) {
+                                xml.appendCodePoint(c);
+                            }
+                        }
+                    }
+                }
+            }
+            xml.append("</w:t>");
+        }
+
+        // The Char production of XML 1.0
+        private static boolean isXmlChar(int c) {
+            return c == 0x9 || c == 0xA || c == 0xD
+                    || (c >= 0x20 && c <= 0xD7FF)
+                    || (c >= 0xE000 && c <= 0xFFFD)
+                    || (c >= 0x10000 && c <= 0x10FFFF);
+        }
+    }
+
+    // --- Template ---
+    /**
+     * Every part of the .docx package except word/document.xml: content types, relationships,
+     * settings and the heading styles, as written by POI for an empty document. They are kept
+     * with their CRCs so each acta copies them as stored zip entries without compressing them again.
+     */
+    private record DocxTemplate(List<ZipEntry> entries, List<byte[]> contents) {
+
+        static DocxTemplate build() throws IOException {
+            ByteArrayOutputStream docx = new ByteArrayOutputStream();
+            try (XWPFDocument document = new XWPFDocument()) {
+                XWPFStyles styles = document.createStyles();
+                addHeadingStyle(styles, "Heading1", "heading 1", 0, 32);
+                addHeadingStyle(styles, "Heading2", "heading 2", 1, 26);
+                document.write(docx);
+            }
+            List<ZipEntry> entries = new ArrayList<>();
+            List<byte[]> contents = new ArrayList<>();
+            try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(docx.toByteArray()))) {
+                for (ZipEntry part = zip.getNextEntry(); part != null; part = zip.getNextEntry()) {
+                    if (part.getName().equals(DOCUMENT_PART)) {
+                        continue;
+                    }
+                    byte[] content = zip.readAllBytes();
+                    CRC32 crc = new CRC32();
+                    crc.update(content);
+                    ZipEntry entry = new ZipEntry(part.getName());
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(content.length);
+                    entry.setCompressedSize(content.length);
+                    entry.setCrc(crc.getValue());
+                    entries.add(entry);
+                    contents.add(content);
+                }
+            }
+            return new DocxTemplate(List.copyOf(entries), List.copyOf(contents));
+        }
+
+        byte[] write(byte[] documentXml) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(documentXml.length / 4 + 4 * 1024);
+            try (ZipOutputStream zip = new ZipOutputStream(out)) {
+                for (int i = 0; i < entries.size(); i++) {
+                    // ZipEntry keeps per-write state, so each acta gets its own copy
+                    zip.putNextEntry(new ZipEntry(entries.get(i)));
+                    zip.write(contents.get(i));
+                    zip.closeEntry();
+                }
+                zip.putNextEntry(new ZipEntry(DOCUMENT_PART));
+                zip.write(documentXml);
+                zip.closeEntry();
+            }
+            return out.toByteArray();
+        }
+
+        // Real heading styles, so Word shows the sections in its navigation pane
+        private static void addHeadingStyle(XWPFStyles styles, String id, String name, int outlineLevel, int halfPoints) {
+            CTStyle style = CTStyle.Factory.newInstance();
+            style.setStyleId(id);
+            style.setType(STStyleType.PARAGRAPH);
+            style.addNewName().setVal(name);
+            style.addNewQFormat();
+            style.addNewPPr().addNewOutlineLvl().setVal(BigInteger.valueOf(outlineLevel));
+            style.getPPr().addNewSpacing().setBefore(BigInteger.valueOf(240));
+            CTRPr font = style.addNewRPr();
+            font.addNewB();
+            font.addNewSz().setVal(BigInteger.valueOf(halfPoints));
+            styles.addStyle(new XWPFStyle(style));
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.domain.model.Employee;
+import com.example.activos_tic.domain.model.Hardware;
+import com.example.activos_tic.domain.model.License;
+import com.example.activos_tic.domain.model.WebAccess;
+import com.example.activos_tic.domain.repository.EmployeeRepository;
+import com.example.activos_tic.domain.repository.HardwareRepository;
+import com.example.activos_tic.domain.repository.LicenseRepository;
+import com.example.activos_tic.domain.repository.WebAccessRepository;
+import com.example.activos_tic.dto.SearchResultDto;
+import com.example.activos_tic.service.AssetSearchIndex.Doc;
+import com.example.activos_tic.service.AssetSearchIndex.DocType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Global asset search backed by {@link AssetSearchIndex}. The index is loaded from the database
+ * once the application is ready and then kept current by {@link AssetService}, which reports every
+ * committed write through the hooks below.
+ */
+@Service
+public class AssetSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssetSearchService.class);
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    private static final int LOAD_BATCH_SIZE = 1_000;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private HardwareRepository hardwareRepository;
+    @Autowired
+    private LicenseRepository licenseRepository;
+    @Autowired
+    private WebAccessRepository webAccessRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final AssetSearchIndex index = new AssetSearchIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadIndex() {
+        long start = System.currentTimeMillis();
+        try (Stream<Employee> rows = employeeRepository.streamAll()) {
+            load(rows, this::toDoc);
+        }
+        try (Stream<Hardware> rows = hardwareRepository.streamAllWithAssignedEmployee()) {
+            load(rows, this::toDoc);
+        }
+        try (Stream<License> rows = licenseRepository.streamAllWithAssignedEmployee()) {
+            load(rows, this::toDoc);
+        }
+        try (Stream<WebAccess> rows = webAccessRepository.streamAllWithAssignedEmployee()) {
+            load(rows, this::toDoc);
+        }
+        logger.info("Search index loaded with {} documents in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    public List<SearchResultDto> search(String query, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Search limit must be at least 1");
+        }
+        return index.search(query, Math.min(limit, MAX_LIMIT));
+    }
+
+    // --- Write hooks: the document is captured now and applied only if the transaction commits ---
+    public void employeeSaved(Employee employee) {
+        putAfterCommit(toDoc(employee));
+    }
+
+    public void employeesRemoved(Collection<Long> employeeIds) {
+        List<Long> ids = List.copyOf(employeeIds);
+        afterCommit(() -> ids.forEach(id -> index.remove(DocType.EMPLOYEE, id)));
+    }
+
+    public void hardwareSaved(Hardware hardware) {
+        putAfterCommit(toDoc(hardware));
+    }
+
+    public void hardwareRemoved(Long id) {
+        afterCommit(() -> index.remove(DocType.HARDWARE, id));
+    }
+
+    public void licenseSaved(License license) {
+        putAfterCommit(toDoc(license));
+    }
+
+    public void licenseRemoved(Long id) {
+        afterCommit(() -> index.remove(DocType.LICENSE, id));
+    }
+
+    public void webAccessSaved(WebAccess webAccess) {
+        putAfterCommit(toDoc(webAccess));
+    }
+
+    public void webAccessRemoved(Long id) {
+        afterCommit(() -> index.remove(DocType.WEB_ACCESS, id));
+    }
+
+    // --- Helpers ---
+    private <E> void load(Stream<E> rows, Function<E, Doc> toDoc) {
+        int[] count = {0};
+        rows.forEach(row -> {
+            index.put(toDoc.apply(row));
+            if (++count[0] % LOAD_BATCH_SIZE == 0) {
+                entityManager.clear();
+            }
+        });
+        entityManager.clear();
+    }
+
+    private void putAfterCommit(Doc doc) {
+        afterCommit(() -> index.put(doc));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Doc toDoc(Employee employee) {
+        return new Doc(DocType.EMPLOYEE, employee.getId(), employee.getName(), employee.getDepartment(), null,
+                employee.getName());
+    }
+
+    private Doc toDoc(Hardware hardware) {
+        return new Doc(DocType.HARDWARE, hardware.getId(), hardware.getSerialNumber(),
+                joinDetail(hardware.getType(), hardware.getBrand(), hardware.getLocation()),
+                employeeIdOf(hardware.getAssignedEmployee()),
+                hardware.getSerialNumber(), hardware.getBrand());
+    }
+
+    private Doc toDoc(License license) {
+        return new Doc(DocType.LICENSE, license.getId(), license.getSoftwareName(),
+                license.getExpirationDate() != null ? "Expires " + license.getExpirationDate() : null,
+                employeeIdOf(license.getAssignedEmployee()),
+                license.getSoftwareName());
+    }
+
+    private Doc toDoc(WebAccess webAccess) {
+        return new Doc(DocType.WEB_ACCESS, webAccess.getId(), webAccess.getServiceName(), webAccess.getUrl(),
+                employeeIdOf(webAccess.getAssignedEmployee()),
+                webAccess.getServiceName(), webAccess.getUrl());
+    }
+
+    // Reading the id of a lazy proxy does not initialize it
+    private static Long employeeIdOf(Employee employee) {
+        return employee != null ? employee.getId() : null;
+    }
+
+    private static String joinDetail(String... parts) {
+        return Stream.of(parts)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.joining(" - "));
+    }
+}
@@ -1,24 +1,66 @@
 package com.example.activos_tic.service;
 
+import com.example.activos_tic.domain.model.DeletedRecord;
 import com.example.activos_tic.domain.model.Employee;
 import com.example.activos_tic.domain.model.Hardware;
 import com.example.activos_tic.domain.model.License;
 import com.example.activos_tic.domain.model.WebAccess;
+import com.example.activos_tic.domain.repository.AssetSpecifications;
+import com.example.activos_tic.domain.repository.DeletedRecordRepository;
 import com.example.activos_tic.domain.repository.EmployeeRepository;
 import com.example.activos_tic.domain.repository.HardwareRepository;
 import com.example.activos_tic.domain.repository.LicenseRepository;
 import com.example.activos_tic.domain.repository.WebAccessRepository;
+import com.example.activos_tic.dto.BulkItemResult;
+import com.example.activos_tic.dto.BulkResultDto;
+import com.example.activos_tic.dto.CursorPage;
+import com.example.activos_tic.dto.EmployeeAssetsDto;
 import com.example.activos_tic.dto.EmployeeDto;
+import com.example.activos_tic.dto.EmployeeFilter;
 import com.example.activos_tic.dto.HardwareDto;
+import com.example.activos_tic.dto.HardwareFilter;
 import com.example.activos_tic.dto.LicenseDto;
+import com.example.activos_tic.dto.LicenseFilter;
+import com.example.activos_tic.dto.OffboardResultDto;
 import com.example.activos_tic.dto.WebAccessDto;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
-
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.validation.Validator;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AssetService {
@@ -31,20 +73,62 @@ public class AssetService {
     private LicenseRepository licenseRepository;
     @Autowired
     private WebAccessRepository webAccessRepository;
+    @Autowired
+    private DeletedRecordRepository deletedRecordRepository;
+
+    @Autowired
+    private AssetSearchService assetSearchService;
+    @Autowired
+    private DataVersionService dataVersionService;
+    @Autowired
+    private ChangeClock changeClock;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    // Sortable fields and how to read each from a row for the next-page cursor. Only NOT NULL
+    // columns are sortable, so the (field, id) keyset seek is exact; "id" needs no value.
+    private static final Map<String, Function<EmployeeDto, String>> EMPLOYEE_SORT_FIELDS =
+            Map.of("id", dto -> null, "name", EmployeeDto::getName);
+    private static final Map<String, Function<HardwareDto, String>> HARDWARE_SORT_FIELDS =
+            Map.of("id", dto -> null, "type", HardwareDto::getType, "serialNumber", HardwareDto::getSerialNumber);
+    private static final Map<String, Function<LicenseDto, String>> LICENSE_SORT_FIELDS =
+            Map.of("id", dto -> null, "softwareName", LicenseDto::getSoftwareName, "licenseKey", LicenseDto::getLicenseKey);
+    private static final Map<String, Function<WebAccessDto, String>> WEB_ACCESS_SORT_FIELDS =
+            Map.of("id", dto -> null, "serviceName", WebAccessDto::getServiceName, "url", WebAccessDto::getUrl);
+    public static final int MAX_BULK_ITEMS = 100_000;
+    // Items committed per transaction by the bulk endpoints (a multiple of hibernate.jdbc.batch_size)
+    private static final int BULK_CHUNK_SIZE = 1_000;
+    // Same fetch size as the repositories' streaming queries
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    public AssetService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     // --- Employee Methods ---
     @Transactional
     public EmployeeDto createEmployee(EmployeeDto employeeDto) {
         Employee employee = mapToEmployeeEntity(employeeDto);
         employee = employeeRepository.save(employee);
+        assetSearchService.employeeSaved(employee);
+        dataVersionService.changed();
         return mapToEmployeeDto(employee);
     }
 
     @Transactional(readOnly = true)
-    public List<EmployeeDto> getAllEmployees() {
-        return employeeRepository.findAll().stream()
-                .map(this::mapToEmployeeDto)
-                .collect(Collectors.toList());
+    public CursorPage<EmployeeDto> getAllEmployees(EmployeeFilter filter, String sort, String after, int limit) {
+        int pageSize = resolvePageSize(limit);
+        Specification<Employee> spec = Specification.<Employee>where(AssetSpecifications.fieldEquals("department", filter.getDepartment()));
+        return findKeysetPage(Employee.class, EmployeeDto.class, AssetService::employeeColumns,
+                spec, sort, EMPLOYEE_SORT_FIELDS, EmployeeDto::getId, after, pageSize);
     }
 
     @Transactional(readOnly = true)
@@ -54,6 +138,38 @@ public class AssetService {
         return mapToEmployeeDto(employee);
     }
 
+    // Loads only the rows assigned to one employee through the indexed employee_id column, as DTO projections
+    @Transactional(readOnly = true)
+    public EmployeeAssetsDto getAssetsForEmployee(Long employeeId) {
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new EntityNotFoundException("Employee not found with id: " + employeeId));
+        return assetsOf(employee);
+    }
+
+    // Same lookup for the logged-in user (user id used as employee id); a user without an employee row has no assets
+    @Transactional(readOnly = true)
+    public EmployeeAssetsDto getAssetsForUser(Long userId) {
+        return employeeRepository.findById(userId)
+                .map(this::assetsOf)
+                .orElseGet(() -> {
+                    EmployeeAssetsDto dto = new EmployeeAssetsDto();
+                    dto.setHardware(List.of());
+                    dto.setLicenses(List.of());
+                    dto.setWebAccesses(List.of());
+                    return dto;
+                });
+    }
+
+    private EmployeeAssetsDto assetsOf(Employee employee) {
+        Long employeeId = employee.getId();
+        EmployeeAssetsDto dto = new EmployeeAssetsDto();
+        dto.setEmployee(mapToEmployeeDto(employee));
+        dto.setHardware(hardwareRepository.findDtosByAssignedEmployeeId(employeeId));
+        dto.setLicenses(licenseRepository.findDtosByAssignedEmployeeId(employeeId));
+        dto.setWebAccesses(webAccessRepository.findDtosByAssignedEmployeeId(employeeId));
+        return dto;
+    }
+
     @Transactional
     public EmployeeDto updateEmployee(Long id, EmployeeDto employeeDto) {
         Employee employee = employeeRepository.findById(id)
@@ -62,6 +178,8 @@ public class AssetService {
         employee.setDepartment(employeeDto.getDepartment());
         employee.setPosition(employeeDto.getPosition());
         employee = employeeRepository.save(employee);
+        assetSearchService.employeeSaved(employee);
+        dataVersionService.changed();
         return mapToEmployeeDto(employee);
     }
 
@@ -70,64 +188,90 @@ public class AssetService {
         if (!employeeRepository.existsById(id)) {
             throw new EntityNotFoundException("Employee not found with id: " + id);
         }
-        // Consider implications: what happens to assets assigned to this employee?
-        // For now, we'll just delete the employee.
-        // Unassign assets before deleting or handle it via database constraints (SET NULL or CASCADE if appropriate)
-        hardwareRepository.findByAssignedEmployee_Id(id).forEach(h -> {
-            h.setAssignedEmployee(null);
-            hardwareRepository.save(h);
-        });
-        licenseRepository.findByAssignedEmployee_Id(id).forEach(l -> {
-            l.setAssignedEmployee(null);
-            licenseRepository.save(l);
-        });
-        webAccessRepository.findByAssignedEmployee_Id(id).forEach(w -> {
-            w.setAssignedEmployee(null);
-            webAccessRepository.save(w);
-        });
-
-        employeeRepository.deleteById(id);
+        // Assets stay in the inventory, unassigned, when their employee is deleted
+        List<Long> ids = List.of(id);
+        Instant now = changeClock.now();
+        hardwareRepository.unassignEmployees(ids, now);
+        licenseRepository.unassignEmployees(ids, now);
+        webAccessRepository.unassignEmployees(ids, now);
+        employeeRepository.deleteByIdIn(ids);
+        recordDeletions("employees", ids, now);
+        assetSearchService.employeesRemoved(ids);
+        dataVersionService.changed();
+    }
+
+    // Offboards many employees with a fixed number of set-based statements, whatever the number of assets
+    @Transactional
+    public OffboardResultDto offboardEmployees(List<Long> employeeIds) {
+        Set<Long> requested = new HashSet<>(employeeIds);
+        requested.remove(null);
+        Set<Long> existing = new HashSet<>(employeeRepository.findExistingIds(requested));
+        OffboardResultDto result = new OffboardResultDto();
+        result.setNotFoundIds(requested.stream()
+                .filter(id -> !existing.contains(id))
+                .sorted()
+                .collect(Collectors.toList()));
+        if (!existing.isEmpty()) {
+            Instant now = changeClock.now();
+            result.setUnassignedHardware(hardwareRepository.unassignEmployees(existing, now));
+            result.setUnassignedLicenses(licenseRepository.unassignEmployees(existing, now));
+            result.setUnassignedWebAccesses(webAccessRepository.unassignEmployees(existing, now));
+            result.setDeletedEmployees(employeeRepository.deleteByIdIn(existing));
+            recordDeletions("employees", existing, now);
+            assetSearchService.employeesRemoved(existing);
+            dataVersionService.changed();
+        }
+        return result;
     }
 
     // --- Hardware Methods ---
     @Transactional
     public HardwareDto createHardware(HardwareDto hardwareDto) {
+        String employeeName = assignedEmployeeName(hardwareDto.getAssignedEmployeeId(), "Employee not found for hardware assignment: ");
         Hardware hardware = mapToHardwareEntity(hardwareDto);
         hardware = hardwareRepository.save(hardware);
-        return mapToHardwareDto(hardware);
+        assetSearchService.hardwareSaved(hardware);
+        dataVersionService.changed();
+        return mapToHardwareDto(hardware, employeeName);
     }
 
     @Transactional(readOnly = true)
-    public List<HardwareDto> getAllHardware() {
-        return hardwareRepository.findAll().stream()
-            .map(this::mapToHardwareDto)
-            .collect(Collectors.toList());
+    public CursorPage<HardwareDto> getAllHardware(HardwareFilter filter, String sort, String after, int limit) {
+        int pageSize = resolvePageSize(limit);
+        Specification<Hardware> spec = Specification.<Hardware>where(AssetSpecifications.fieldEquals("type", filter.getType()))
+                .and(AssetSpecifications.fieldEquals("brand", filter.getBrand()))
+                .and(AssetSpecifications.fieldEquals("location", filter.getLocation()));
+        return findKeysetPage(Hardware.class, HardwareDto.class, AssetService::hardwareColumns,
+                spec, sort, HARDWARE_SORT_FIELDS, HardwareDto::getId, after, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllHardware(Consumer<HardwareDto> consumer) {
+        try (Stream<HardwareDto> rows = hardwareRepository.streamAllDtos()) {
+            rows.forEach(consumer);
+        }
     }
 
     @Transactional(readOnly = true)
     public HardwareDto getHardwareById(Long id) {
-        Hardware hardware = hardwareRepository.findById(id)
+        Hardware hardware = hardwareRepository.findWithAssignedEmployeeById(id)
             .orElseThrow(() -> new EntityNotFoundException("Hardware not found: " + id));
         return mapToHardwareDto(hardware);
     }
 
     @Transactional
     public HardwareDto updateHardware(Long id, HardwareDto hardwareDto) {
-        Hardware hardware = hardwareRepository.findById(id)
+        Hardware hardware = hardwareRepository.findWithAssignedEmployeeById(id)
             .orElseThrow(() -> new EntityNotFoundException("Hardware not found: " + id));
         hardware.setType(hardwareDto.getType());
         hardware.setBrand(hardwareDto.getBrand());
         hardware.setSerialNumber(hardwareDto.getSerialNumber());
         hardware.setLocation(hardwareDto.getLocation());
-        if (hardwareDto.getAssignedEmployeeId() != null) {
-            Employee employee = employeeRepository.findById(hardwareDto.getAssignedEmployeeId())
-                .orElseThrow(() -> new EntityNotFoundException("Employee not found for assignment: " + hardwareDto.getAssignedEmployeeId()));
-            hardware.setAssignedEmployee(employee);
-        } else {
-            hardware.setAssignedEmployee(null);
-        }
+        String employeeName = reassign(hardware.getAssignedEmployee(), hardwareDto.getAssignedEmployeeId(), hardware::setAssignedEmployee);
         hardware = hardwareRepository.save(hardware);
-        return mapToHardwareDto(hardware);
+        assetSearchService.hardwareSaved(hardware);
+        dataVersionService.changed();
+        return mapToHardwareDto(hardware, employeeName);
     }
 
     @Transactional
@@ -136,47 +280,58 @@ public class AssetService {
             throw new EntityNotFoundException("Hardware not found: " + id);
         }
         hardwareRepository.deleteById(id);
+        recordDeletions("hardware", List.of(id), changeClock.now());
+        assetSearchService.hardwareRemoved(id);
+        dataVersionService.changed();
     }
 
     // --- License Methods ---
     @Transactional
     public LicenseDto createLicense(LicenseDto licenseDto) {
+        String employeeName = assignedEmployeeName(licenseDto.getAssignedEmployeeId(), "Employee not found for license assignment: ");
         License license = mapToLicenseEntity(licenseDto);
         license = licenseRepository.save(license);
-        return mapToLicenseDto(license);
+        assetSearchService.licenseSaved(license);
+        dataVersionService.changed();
+        return mapToLicenseDto(license, employeeName);
     }
 
     @Transactional(readOnly = true)
-    public List<LicenseDto> getAllLicenses() {
-        return licenseRepository.findAll().stream()
-            .map(this::mapToLicenseDto)
-            .collect(Collectors.toList());
+    public CursorPage<LicenseDto> getAllLicenses(LicenseFilter filter, String sort, String after, int limit) {
+        int pageSize = resolvePageSize(limit);
+        Specification<License> spec = Specification.<License>where(AssetSpecifications.fieldEquals("softwareName", filter.getSoftwareName()))
+                .and(AssetSpecifications.dateBetween("expirationDate", filter.getExpiresFrom(), filter.getExpiresTo()));
+        return findKeysetPage(License.class, LicenseDto.class, AssetService::licenseColumns,
+                spec, sort, LICENSE_SORT_FIELDS, LicenseDto::getId, after, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllLicenses(Consumer<LicenseDto> consumer) {
+        try (Stream<LicenseDto> rows = licenseRepository.streamAllDtos()) {
+            rows.forEach(consumer);
+        }
     }
 
     @Transactional(readOnly = true)
     public LicenseDto getLicenseById(Long id) {
-        License license = licenseRepository.findById(id)
+        License license = licenseRepository.findWithAssignedEmployeeById(id)
             .orElseThrow(() -> new EntityNotFoundException("License not found: " + id));
         return mapToLicenseDto(license);
     }
 
     @Transactional
     public LicenseDto updateLicense(Long id, LicenseDto licenseDto) {
-        License license = licenseRepository.findById(id)
+        License license = licenseRepository.findWithAssignedEmployeeById(id)
             .orElseThrow(() -> new EntityNotFoundException("License not found: " + id));
         license.setSoftwareName(licenseDto.getSoftwareName());
         license.setLicenseKey(licenseDto.getLicenseKey());
         license.setPurchaseDate(licenseDto.getPurchaseDate());
         license.setExpirationDate(licenseDto.getExpirationDate());
-        if (licenseDto.getAssignedEmployeeId() != null) {
-            Employee employee = employeeRepository.findById(licenseDto.getAssignedEmployeeId())
-                .orElseThrow(() -> new EntityNotFoundException("Employee not found for assignment: " + licenseDto.getAssignedEmployeeId()));
-            license.setAssignedEmployee(employee);
-        } else {
-            license.setAssignedEmployee(null);
-        }
+        String employeeName = reassign(license.getAssignedEmployee(), licenseDto.getAssignedEmployeeId(), license::setAssignedEmployee);
         license = licenseRepository.save(license);
-        return mapToLicenseDto(license);
+        assetSearchService.licenseSaved(license);
+        dataVersionService.changed();
+        return mapToLicenseDto(license, employeeName);
     }
 
     @Transactional
@@ -185,47 +340,49 @@ public class AssetService {
             throw new EntityNotFoundException("License not found: " + id);
         }
         licenseRepository.deleteById(id);
+        recordDeletions("licenses", List.of(id), changeClock.now());
+        assetSearchService.licenseRemoved(id);
+        dataVersionService.changed();
     }
 
     // --- WebAccess Methods ---
     @Transactional
     public WebAccessDto createWebAccess(WebAccessDto webAccessDto) {
+        String employeeName = assignedEmployeeName(webAccessDto.getAssignedEmployeeId(), "Employee not found for web access assignment: ");
         WebAccess webAccess = mapToWebAccessEntity(webAccessDto);
         webAccess = webAccessRepository.save(webAccess);
-        return mapToWebAccessDto(webAccess);
+        assetSearchService.webAccessSaved(webAccess);
+        dataVersionService.changed();
+        return mapToWebAccessDto(webAccess, employeeName);
     }
 
     @Transactional(readOnly = true)
-    public List<WebAccessDto> getAllWebAccesses() {
-        return webAccessRepository.findAll().stream()
-            .map(this::mapToWebAccessDto)
-            .collect(Collectors.toList());
+    public CursorPage<WebAccessDto> getAllWebAccesses(String sort, String after, int limit) {
+        int pageSize = resolvePageSize(limit);
+        return findKeysetPage(WebAccess.class, WebAccessDto.class, AssetService::webAccessColumns,
+                null, sort, WEB_ACCESS_SORT_FIELDS, WebAccessDto::getId, after, pageSize);
     }
 
     @Transactional(readOnly = true)
     public WebAccessDto getWebAccessById(Long id) {
-        WebAccess webAccess = webAccessRepository.findById(id)
+        WebAccess webAccess = webAccessRepository.findWithAssignedEmployeeById(id)
             .orElseThrow(() -> new EntityNotFoundException("WebAccess not found: " + id));
         return mapToWebAccessDto(webAccess);
     }
 
     @Transactional
     public WebAccessDto updateWebAccess(Long id, WebAccessDto webAccessDto) {
-        WebAccess webAccess = webAccessRepository.findById(id)
+        WebAccess webAccess = webAccessRepository.findWithAssignedEmployeeById(id)
             .orElseThrow(() -> new EntityNotFoundException("WebAccess not found: " + id));
         webAccess.setUrl(webAccessDto.getUrl());
         webAccess.setServiceName(webAccessDto.getServiceName());
         webAccess.setAccessUsername(webAccessDto.getAccessUsername());
         webAccess.setAccessPassword(webAccessDto.getAccessPassword()); // Consider re-encryption if password changes
-        if (webAccessDto.getAssignedEmployeeId() != null) {
-            Employee employee = employeeRepository.findById(webAccessDto.getAssignedEmployeeId())
-                .orElseThrow(() -> new EntityNotFoundException("Employee not found for assignment: " + webAccessDto.getAssignedEmployeeId()));
-            webAccess.setAssignedEmployee(employee);
-        } else {
-            webAccess.setAssignedEmployee(null);
-        }
+        String employeeName = reassign(webAccess.getAssignedEmployee(), webAccessDto.getAssignedEmployeeId(), webAccess::setAssignedEmployee);
         webAccess = webAccessRepository.save(webAccess);
-        return mapToWebAccessDto(webAccess);
+        assetSearchService.webAccessSaved(webAccess);
+        dataVersionService.changed();
+        return mapToWebAccessDto(webAccess, employeeName);
     }
 
     @Transactional
@@ -234,8 +391,322 @@ public class AssetService {
             throw new EntityNotFoundException("WebAccess not found: " + id);
         }
         webAccessRepository.deleteById(id);
+        recordDeletions("web_accesses", List.of(id), changeClock.now());
+        assetSearchService.webAccessRemoved(id);
+        dataVersionService.changed();
+    }
+
+
+    // --- Filtered Streams (export) ---
+    // The filter runs in the database and rows arrive as DTO projections in id order.
+    // Must be consumed inside a transaction and closed.
+    public Stream<EmployeeDto> streamEmployees(Specification<Employee> filter) {
+        return streamMatching(Employee.class, EmployeeDto.class, AssetService::employeeColumns, filter);
+    }
+
+    public Stream<HardwareDto> streamHardware(Specification<Hardware> filter) {
+        return streamMatching(Hardware.class, HardwareDto.class, AssetService::hardwareColumns, filter);
+    }
+
+    public Stream<LicenseDto> streamLicenses(Specification<License> filter) {
+        return streamMatching(License.class, LicenseDto.class, AssetService::licenseColumns, filter);
+    }
+
+    public Stream<WebAccessDto> streamWebAccesses(Specification<WebAccess> filter) {
+        return streamMatching(WebAccess.class, WebAccessDto.class, AssetService::webAccessColumns, filter);
+    }
+
+    // Reads at most one id, so an empty result costs no more than the filter's index lookup
+    @Transactional(readOnly = true)
+    public <E> boolean anyMatching(Class<E> type, Specification<E> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(type);
+        query.select(root.get("id"));
+        Predicate predicate = Specification.where(filter).toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return !entityManager.createQuery(query).setMaxResults(1).getResultList().isEmpty();
+    }
+
+    // --- Bulk Methods ---
+    // Not @Transactional: every chunk commits on its own, so a failing chunk does not roll back the ones before it.
+    // Items with an id update that row, items without one are created.
+    public BulkResultDto bulkUpsertHardware(List<HardwareDto> items) {
+        return processInChunks(items, this::upsertHardwareChunk);
     }
 
+    public BulkResultDto bulkUpsertLicenses(List<LicenseDto> items) {
+        return processInChunks(items, this::upsertLicenseChunk);
+    }
+
+    private List<BulkItemResult> upsertHardwareChunk(List<HardwareDto> chunk, int offset) {
+        // One query each for serial conflicts, update targets and employee ids, instead of one per item
+        Map<String, Long> idsBySerial = new HashMap<>();
+        BulkChecks.findIn(BulkChecks.collectKeys(chunk, HardwareDto::getSerialNumber), hardwareRepository::findBySerialNumberIn)
+                .forEach(h -> idsBySerial.put(h.getSerialNumber(), h.getId()));
+        Map<Long, Hardware> existing = indexById(
+                hardwareRepository.findAllById(BulkChecks.collectKeys(chunk, HardwareDto::getId)), Hardware::getId);
+        Set<Long> employeeIds = new HashSet<>(
+                BulkChecks.findIn(BulkChecks.collectKeys(chunk, HardwareDto::getAssignedEmployeeId), employeeRepository::findExistingIds));
+
+        BulkItemResult[] results = new BulkItemResult[chunk.size()];
+        List<Hardware> toSave = new ArrayList<>();
+        List<Integer> savedPositions = new ArrayList<>();
+        Set<String> seenSerials = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            HardwareDto dto = chunk.get(i);
+            String error = BulkChecks.validationError(validator, dto);
+            if (error == null && !seenSerials.add(dto.getSerialNumber())) {
+                error = "Duplicate serial number in request: " + dto.getSerialNumber();
+            }
+            Long serialOwner = error == null ? idsBySerial.get(dto.getSerialNumber()) : null;
+            if (serialOwner != null && !serialOwner.equals(dto.getId())) {
+                error = "Serial number already exists: " + dto.getSerialNumber();
+            }
+            if (error == null && dto.getId() != null && !existing.containsKey(dto.getId())) {
+                error = "Hardware not found: " + dto.getId();
+            }
+            if (error == null && dto.getAssignedEmployeeId() != null && !employeeIds.contains(dto.getAssignedEmployeeId())) {
+                error = "Employee not found for hardware assignment: " + dto.getAssignedEmployeeId();
+            }
+            if (error != null) {
+                results[i] = new BulkItemResult(offset + i, dto != null ? dto.getId() : null, BulkItemResult.FAILED, error);
+                continue;
+            }
+            Hardware hardware = dto.getId() != null ? existing.get(dto.getId()) : new Hardware();
+            hardware.setType(dto.getType());
+            hardware.setBrand(dto.getBrand());
+            hardware.setSerialNumber(dto.getSerialNumber());
+            hardware.setLocation(dto.getLocation());
+            hardware.setAssignedEmployee(employeeReference(dto.getAssignedEmployeeId()));
+            toSave.add(hardware);
+            savedPositions.add(i);
+        }
+        if (toSave.isEmpty()) {
+            // Nothing written, so the data version (and every cached export) stays as it is
+            entityManager.clear();
+            return List.of(results);
+        }
+        hardwareRepository.saveAll(toSave);
+        hardwareRepository.flush();
+        toSave.forEach(assetSearchService::hardwareSaved);
+        dataVersionService.changed();
+        for (int j = 0; j < toSave.size(); j++) {
+            int i = savedPositions.get(j);
+            String status = chunk.get(i).getId() != null ? BulkItemResult.UPDATED : BulkItemResult.CREATED;
+            results[i] = new BulkItemResult(offset + i, toSave.get(j).getId(), status, null);
+        }
+        entityManager.clear();
+        return List.of(results);
+    }
+
+    private List<BulkItemResult> upsertLicenseChunk(List<LicenseDto> chunk, int offset) {
+        // One query each for key conflicts, update targets and employee ids, instead of one per item
+        Map<String, Long> idsByKey = new HashMap<>();
+        BulkChecks.findIn(BulkChecks.collectKeys(chunk, LicenseDto::getLicenseKey), licenseRepository::findByLicenseKeyIn)
+                .forEach(l -> idsByKey.put(l.getLicenseKey(), l.getId()));
+        Map<Long, License> existing = indexById(
+                licenseRepository.findAllById(BulkChecks.collectKeys(chunk, LicenseDto::getId)), License::getId);
+        Set<Long> employeeIds = new HashSet<>(
+                BulkChecks.findIn(BulkChecks.collectKeys(chunk, LicenseDto::getAssignedEmployeeId), employeeRepository::findExistingIds));
+
+        BulkItemResult[] results = new BulkItemResult[chunk.size()];
+        List<License> toSave = new ArrayList<>();
+        List<Integer> savedPositions = new ArrayList<>();
+        Set<String> seenKeys = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            LicenseDto dto = chunk.get(i);
+            String error = BulkChecks.validationError(validator, dto);
+            if (error == null && !seenKeys.add(dto.getLicenseKey())) {
+                error = "Duplicate license key in request: " + dto.getLicenseKey();
+            }
+            Long keyOwner = error == null ? idsByKey.get(dto.getLicenseKey()) : null;
+            if (keyOwner != null && !keyOwner.equals(dto.getId())) {
+                error = "License key already exists: " + dto.getLicenseKey();
+            }
+            if (error == null && dto.getId() != null && !existing.containsKey(dto.getId())) {
+                error = "License not found: " + dto.getId();
+            }
+            if (error == null && dto.getAssignedEmployeeId() != null && !employeeIds.contains(dto.getAssignedEmployeeId())) {
+                error = "Employee not found for license assignment: " + dto.getAssignedEmployeeId();
+            }
+            if (error != null) {
+                results[i] = new BulkItemResult(offset + i, dto != null ? dto.getId() : null, BulkItemResult.FAILED, error);
+                continue;
+            }
+            License license = dto.getId() != null ? existing.get(dto.getId()) : new License();
+            license.setSoftwareName(dto.getSoftwareName());
+            license.setLicenseKey(dto.getLicenseKey());
+            license.setPurchaseDate(dto.getPurchaseDate());
+            license.setExpirationDate(dto.getExpirationDate());
+            license.setAssignedEmployee(employeeReference(dto.getAssignedEmployeeId()));
+            toSave.add(license);
+            savedPositions.add(i);
+        }
+        if (toSave.isEmpty()) {
+            // Nothing written, so the data version (and every cached export) stays as it is
+            entityManager.clear();
+            return List.of(results);
+        }
+        licenseRepository.saveAll(toSave);
+        licenseRepository.flush();
+        toSave.forEach(assetSearchService::licenseSaved);
+        dataVersionService.changed();
+        for (int j = 0; j < toSave.size(); j++) {
+            int i = savedPositions.get(j);
+            String status = chunk.get(i).getId() != null ? BulkItemResult.UPDATED : BulkItemResult.CREATED;
+            results[i] = new BulkItemResult(offset + i, toSave.get(j).getId(), status, null);
+        }
+        entityManager.clear();
+        return List.of(results);
+    }
+
+    // --- Bulk Helpers ---
+    private <D> BulkResultDto processInChunks(List<D> items, BiFunction<List<D>, Integer, List<BulkItemResult>> chunkProcessor) {
+        if (items.size() > MAX_BULK_ITEMS) {
+            throw new IllegalArgumentException("Bulk requests are limited to " + MAX_BULK_ITEMS + " items");
+        }
+        BulkResultDto result = new BulkResultDto();
+        for (int from = 0; from < items.size(); from += BULK_CHUNK_SIZE) {
+            List<D> chunk = items.subList(from, Math.min(from + BULK_CHUNK_SIZE, items.size()));
+            int offset = from;
+            List<BulkItemResult> chunkResults;
+            try {
+                chunkResults = transactionTemplate.execute(status -> chunkProcessor.apply(chunk, offset));
+            } catch (DataAccessException | PersistenceException e) {
+                // The whole chunk was rolled back, so none of its items were written
+                String message = "Chunk rolled back: " + e.getMessage();
+                chunkResults = new ArrayList<>();
+                for (int i = 0; i < chunk.size(); i++) {
+                    chunkResults.add(new BulkItemResult(offset + i, null, BulkItemResult.FAILED, message));
+                }
+            }
+            chunkResults.forEach(result::add);
+        }
+        return result;
+    }
+
+    private static <E> Map<Long, E> indexById(List<E> rows, Function<E, Long> idOf) {
+        return rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    // --- Pagination Helpers ---
+    private int resolvePageSize(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // Runs one page of a filtered query ordered by (sort field, id). "sort" is "field" or "field,desc".
+    // The page starts after the (sort value, id) pair carried in the "after" cursor, so no row is
+    // read back: the seek works even if that row has since been deleted or edited. Rows are selected
+    // straight into the DTO through its constructor: no managed entities, no dirty-check snapshots.
+    private <E, D> CursorPage<D> findKeysetPage(Class<E> type, Class<D> dtoType, Function<Root<E>, Selection<?>[]> columns,
+                                                Specification<E> filter, String sort, Map<String, Function<D, String>> sortableFields,
+                                                Function<D, Long> idOf, String after, int pageSize) {
+        String[] sortParts = (StringUtils.hasText(sort) ? sort : "id").split(",");
+        String field = sortParts[0].trim();
+        boolean descending = sortParts.length > 1 && "desc".equalsIgnoreCase(sortParts[1].trim());
+        if (!sortableFields.containsKey(field)) {
+            throw new IllegalArgumentException("Cannot sort by '" + field + "'. Sortable fields: " + sortableFields.keySet());
+        }
+        PageCursor cursor = StringUtils.hasText(after) ? PageCursor.decode(after, field) : null;
+        Specification<E> spec = Specification.where(filter).and(cursor == null ? null
+                : AssetSpecifications.seekAfter(field, cursor.value(), cursor.id(), descending));
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort order = "id".equals(field) ? Sort.by(direction, "id") : Sort.by(direction, field, "id");
+        List<D> rows = projectionQuery(type, dtoType, columns, spec, order)
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+        // One row more than the page tells whether another page exists, without a COUNT query
+        boolean hasMore = rows.size() > pageSize;
+        List<D> items = hasMore ? rows.subList(0, pageSize) : rows;
+        D last = hasMore ? items.get(items.size() - 1) : null;
+        String nextCursor = last != null
+                ? new PageCursor(field, sortableFields.get(field).apply(last), idOf.apply(last)).encode()
+                : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    // Every row matching the filter, in id order, read through a cursor like the repositories' streamAllDtos
+    private <E, D> Stream<D> streamMatching(Class<E> type, Class<D> dtoType, Function<Root<E>, Selection<?>[]> columns,
+                                            Specification<E> filter) {
+        return projectionQuery(type, dtoType, columns, Specification.where(filter), Sort.by("id"))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private <E, D> TypedQuery<D> projectionQuery(Class<E> type, Class<D> dtoType, Function<Root<E>, Selection<?>[]> columns,
+                                                 Specification<E> spec, Sort order) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<D> query = cb.createQuery(dtoType);
+        Root<E> root = query.from(type);
+        query.select(cb.construct(dtoType, columns.apply(root)));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(order, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    // --- List Projections: column order follows the DTO constructors ---
+    private static Selection<?>[] employeeColumns(Root<Employee> root) {
+        return new Selection<?>[]{root.get("id"), root.get("name"), root.get("department"), root.get("position")};
+    }
+
+    private static Selection<?>[] hardwareColumns(Root<Hardware> root) {
+        Join<Hardware, Employee> employee = root.join("assignedEmployee", JoinType.LEFT);
+        return new Selection<?>[]{root.get("id"), root.get("type"), root.get("brand"), root.get("serialNumber"),
+                root.get("location"), employee.get("id"), employee.get("name")};
+    }
+
+    private static Selection<?>[] licenseColumns(Root<License> root) {
+        Join<License, Employee> employee = root.join("assignedEmployee", JoinType.LEFT);
+        return new Selection<?>[]{root.get("id"), root.get("softwareName"), root.get("licenseKey"),
+                root.get("purchaseDate"), root.get("expirationDate"), employee.get("id"), employee.get("name")};
+    }
+
+    private static Selection<?>[] webAccessColumns(Root<WebAccess> root) {
+        Join<WebAccess, Employee> employee = root.join("assignedEmployee", JoinType.LEFT);
+        return new Selection<?>[]{root.get("id"), root.get("url"), root.get("serviceName"), root.get("accessUsername"),
+                root.get("accessPassword"), employee.get("id"), employee.get("name")};
+    }
+
+    // --- Assignment Helpers ---
+    // One-column primary key lookup: checks the employee exists and gives the name for the response
+    private String assignedEmployeeName(Long employeeId, String notFoundMessage) {
+        if (employeeId == null) {
+            return null;
+        }
+        return employeeRepository.findNameById(employeeId)
+                .orElseThrow(() -> new EntityNotFoundException(notFoundMessage + employeeId));
+    }
+
+    // An unchanged assignment keeps the employee loaded with the asset; only a new one is looked up
+    private String reassign(Employee current, Long employeeId, Consumer<Employee> setter) {
+        if (current != null && current.getId().equals(employeeId)) {
+            return current.getName();
+        }
+        String employeeName = assignedEmployeeName(employeeId, "Employee not found for assignment: ");
+        setter.accept(employeeReference(employeeId));
+        return employeeName;
+    }
+
+    // Uninitialized proxy: attaching it writes the foreign key without reading the employee row
+    private Employee employeeReference(Long employeeId) {
+        return employeeId != null ? employeeRepository.getReferenceById(employeeId) : null;
+    }
+
+    // Tombstones for the change feed, written in the same transaction as the delete
+    private void recordDeletions(String table, Collection<Long> ids, Instant deletedAt) {
+        deletedRecordRepository.saveAll(ids.stream()
+                .map(id -> new DeletedRecord(table, id, deletedAt))
+                .collect(Collectors.toList()));
+    }
 
     // --- Private Mapper Methods ---
     private EmployeeDto mapToEmployeeDto(Employee employee) {
@@ -257,6 +728,11 @@ public class AssetService {
     }
 
     private HardwareDto mapToHardwareDto(Hardware hardware) {
+        Employee employee = hardware.getAssignedEmployee();
+        return mapToHardwareDto(hardware, employee != null ? employee.getName() : null);
+    }
+
+    private HardwareDto mapToHardwareDto(Hardware hardware, String assignedEmployeeName) {
         HardwareDto dto = new HardwareDto();
         dto.setId(hardware.getId());
         dto.setType(hardware.getType());
@@ -265,7 +741,7 @@ public class AssetService {
         dto.setLocation(hardware.getLocation());
         if (hardware.getAssignedEmployee() != null) {
             dto.setAssignedEmployeeId(hardware.getAssignedEmployee().getId());
-            dto.setAssignedEmployeeName(hardware.getAssignedEmployee().getName());
+            dto.setAssignedEmployeeName(assignedEmployeeName);
         }
         return dto;
     }
@@ -276,15 +752,17 @@ public class AssetService {
         hardware.setBrand(dto.getBrand());
         hardware.setSerialNumber(dto.getSerialNumber());
         hardware.setLocation(dto.getLocation());
-        if (dto.getAssignedEmployeeId() != null) {
-            Employee employee = employeeRepository.findById(dto.getAssignedEmployeeId())
-                .orElseThrow(() -> new EntityNotFoundException("Employee not found for hardware assignment: " + dto.getAssignedEmployeeId()));
-            hardware.setAssignedEmployee(employee);
-        }
+        // Existence is checked by the caller; the reference only carries the foreign key
+        hardware.setAssignedEmployee(employeeReference(dto.getAssignedEmployeeId()));
         return hardware;
     }
 
     private LicenseDto mapToLicenseDto(License license) {
+        Employee employee = license.getAssignedEmployee();
+        return mapToLicenseDto(license, employee != null ? employee.getName() : null);
+    }
+
+    private LicenseDto mapToLicenseDto(License license, String assignedEmployeeName) {
         LicenseDto dto = new LicenseDto();
         dto.setId(license.getId());
         dto.setSoftwareName(license.getSoftwareName());
@@ -293,7 +771,7 @@ public class AssetService {
         dto.setExpirationDate(license.getExpirationDate());
         if (license.getAssignedEmployee() != null) {
             dto.setAssignedEmployeeId(license.getAssignedEmployee().getId());
-            dto.setAssignedEmployeeName(license.getAssignedEmployee().getName());
+            dto.setAssignedEmployeeName(assignedEmployeeName);
         }
         return dto;
     }
@@ -304,15 +782,17 @@ public class AssetService {
         license.setLicenseKey(dto.getLicenseKey());
         license.setPurchaseDate(dto.getPurchaseDate());
         license.setExpirationDate(dto.getExpirationDate());
-        if (dto.getAssignedEmployeeId() != null) {
-            Employee employee = employeeRepository.findById(dto.getAssignedEmployeeId())
-                .orElseThrow(() -> new EntityNotFoundException("Employee not found for license assignment: " + dto.getAssignedEmployeeId()));
-            license.setAssignedEmployee(employee);
-        }
+        // Existence is checked by the caller; the reference only carries the foreign key
+        license.setAssignedEmployee(employeeReference(dto.getAssignedEmployeeId()));
         return license;
     }
 
     private WebAccessDto mapToWebAccessDto(WebAccess webAccess) {
+        Employee employee = webAccess.getAssignedEmployee();
+        return mapToWebAccessDto(webAccess, employee != null ? employee.getName() : null);
+    }
+
+    private WebAccessDto mapToWebAccessDto(WebAccess webAccess, String assignedEmployeeName) {
         WebAccessDto dto = new WebAccessDto();
         dto.setId(webAccess.getId());
         dto.setUrl(webAccess.getUrl());
@@ -321,7 +801,7 @@ public class AssetService {
         dto.setAccessPassword(webAccess.getAccessPassword()); // Be cautious about sending passwords, even in DTOs
         if (webAccess.getAssignedEmployee() != null) {
             dto.setAssignedEmployeeId(webAccess.getAssignedEmployee().getId());
-            dto.setAssignedEmployeeName(webAccess.getAssignedEmployee().getName());
+            dto.setAssignedEmployeeName(assignedEmployeeName);
         }
         return dto;
     }
@@ -332,11 +812,8 @@ public class AssetService {
         webAccess.setServiceName(dto.getServiceName());
         webAccess.setAccessUsername(dto.getAccessUsername());
         webAccess.setAccessPassword(dto.getAccessPassword()); // Consider encryption here if passwords are to be stored encrypted
-        if (dto.getAssignedEmployeeId() != null) {
-            Employee employee = employeeRepository.findById(dto.getAssignedEmployeeId())
-                .orElseThrow(() -> new EntityNotFoundException("Employee not found for web access assignment: " + dto.getAssignedEmployeeId()));
-            webAccess.setAssignedEmployee(employee);
-        }
+        // Existence is checked by the caller; the reference only carries the foreign key
+        webAccess.setAssignedEmployee(employeeReference(dto.getAssignedEmployeeId()));
         return webAccess;
     }
 }
@@ -5,14 +5,31 @@ import com.example.activos_tic.domain.model.Role;
 import com.example.activos_tic.domain.model.User;
 import com.example.activos_tic.domain.repository.RoleRepository;
 import com.example.activos_tic.domain.repository.UserRepository;
+import com.example.activos_tic.dto.BulkItemResult;
+import com.example.activos_tic.dto.BulkResultDto;
 import com.example.activos_tic.dto.RegisterRequest;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +44,35 @@ public class AuthService {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public static final int MAX_BULK_USERS = 10_000;
+    // Users hashed and inserted per transaction
+    private static final int BULK_CHUNK_SIZE = 500;
+
+    // Role ids by name, looked up once: roles are only created at startup (DataInitializer)
+    private final Map<ERole, Long> roleIds = new ConcurrentHashMap<>();
+    private final TransactionTemplate transactionTemplate;
+    // Fixed number of threads for the password hashes of bulk registration, with one chunk of hashes queued
+    // at most; past that, the submitting request thread hashes itself, which slows it down to the pool's pace
+    private final ThreadPoolExecutor hashers;
+
+    public AuthService(PlatformTransactionManager transactionManager,
+                       @Value("${app.auth.bulk-register.threads:0}") int threads) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hashers = WorkerPools.bounded("register-hash", WorkerPools.threadsOrHalfTheCores(threads), BULK_CHUNK_SIZE,
+                (task, executor) -> task.run()); // Caller runs, also after shutdown, where CallerRunsPolicy would drop the task and leave its Future pending
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashers.shutdownNow();
+    }
+
     @Transactional
     public User registerUser(RegisterRequest registerRequest) {
         if (userRepository.existsByUsername(registerRequest.getUsername())) {
@@ -41,30 +87,151 @@ public class AuthService {
         user.setUsername(registerRequest.getUsername());
         user.setEmail(registerRequest.getEmail());
         user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        user.setRoles(resolveRoles(registerRequest.getRoles()));
+        return userRepository.save(user);
+    }
 
-        Set<String> strRoles = registerRequest.getRoles();
-        Set<Role> roles = new HashSet<>();
+    /**
+     * Registers many users at once. Items are handled in chunks: taken usernames and emails are
+     * found with one query each, the passwords of the valid items are hashed in parallel outside
+     * any transaction, then the chunk's users are inserted in one transaction, their user_roles
+     * rows in JDBC batches (users keep their IDENTITY ids, so their own inserts go one by one).
+     * Each item is reported as CREATED or FAILED with the reason; a chunk commits on its own, so a
+     * failure (a hash, a rolled back chunk) leaves the other chunks' users created and reported. If
+     * the request thread is interrupted, the items not yet created are reported as FAILED and the
+     * rest of the batch is skipped.
+     */
+    public BulkResultDto registerUsers(List<RegisterRequest> items) {
+        if (items.size() > MAX_BULK_USERS) {
+            throw new IllegalArgumentException("Bulk registration is limited to " + MAX_BULK_USERS + " users");
+        }
+        BulkResultDto result = new BulkResultDto();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int from = 0; from < items.size(); from += BULK_CHUNK_SIZE) {
+            if (Thread.currentThread().isInterrupted()) {
+                for (int i = from; i < items.size(); i++) {
+                    result.add(new BulkItemResult(i, null, BulkItemResult.FAILED, "Not processed: the request was interrupted"));
+                }
+                break;
+            }
+            List<RegisterRequest> chunk = items.subList(from, Math.min(from + BULK_CHUNK_SIZE, items.size()));
+            registerChunk(chunk, from, seenUsernames, seenEmails).forEach(result::add);
+        }
+        return result;
+    }
 
-        if (strRoles == null || strRoles.isEmpty()) {
-            Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                    .orElseThrow(() -> new RuntimeException("Error: Role USER is not found."));
-            roles.add(userRole);
-        } else {
-            strRoles.forEach(role -> {
-                switch (role.toUpperCase()) {
-                    case "ADMIN":
-                        Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                                .orElseThrow(() -> new RuntimeException("Error: Role ADMIN is not found."));
-                        roles.add(adminRole);
-                        break;
-                    default:
-                        Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                                .orElseThrow(() -> new RuntimeException("Error: Role USER is not found."));
-                        roles.add(userRole);
+    private List<BulkItemResult> registerChunk(List<RegisterRequest> chunk, int offset,
+                                               Set<String> seenUsernames, Set<String> seenEmails) {
+        // One query each for taken usernames and emails, instead of two per user
+        Set<String> takenUsernames = new HashSet<>(
+                BulkChecks.findIn(BulkChecks.collectKeys(chunk, RegisterRequest::getUsername), userRepository::findExistingUsernames));
+        Set<String> takenEmails = new HashSet<>(
+                BulkChecks.findIn(BulkChecks.collectKeys(chunk, RegisterRequest::getEmail), userRepository::findExistingEmails));
+
+        BulkItemResult[] results = new BulkItemResult[chunk.size()];
+        List<Integer> accepted = new ArrayList<>();
+        // Keys of this chunk's items; they join the request-wide sets only once the chunk commits, so
+        // after a rollback a later item with the same username is tried instead of called a duplicate
+        Set<String> chunkUsernames = new HashSet<>();
+        Set<String> chunkEmails = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            RegisterRequest request = chunk.get(i);
+            String error = BulkChecks.validationError(validator, request);
+            if (error == null && takenUsernames.contains(request.getUsername())) {
+                error = "Username is already taken: " + request.getUsername();
+            } else if (error == null && takenEmails.contains(request.getEmail())) {
+                error = "Email is already in use: " + request.getEmail();
+            } else if (error == null && (seenUsernames.contains(request.getUsername()) || chunkUsernames.contains(request.getUsername()))) {
+                error = "Duplicate username in request: " + request.getUsername();
+            } else if (error == null && (seenEmails.contains(request.getEmail()) || chunkEmails.contains(request.getEmail()))) {
+                error = "Duplicate email in request: " + request.getEmail();
+            }
+            if (error != null) {
+                results[i] = new BulkItemResult(offset + i, null, BulkItemResult.FAILED, error);
+                continue;
+            }
+            chunkUsernames.add(request.getUsername());
+            chunkEmails.add(request.getEmail());
+            accepted.add(i);
+        }
+
+        // BCrypt dominates the cost, so hashes run in parallel and no connection is held meanwhile
+        List<Future<String>> hashes = accepted.stream()
+                .map(i -> hashers.submit(() -> passwordEncoder.encode(chunk.get(i).getPassword())))
+                .collect(Collectors.toList());
+        List<User> users = new ArrayList<>(accepted.size());
+        List<Integer> hashed = new ArrayList<>(accepted.size());
+        for (int j = 0; j < accepted.size(); j++) {
+            int i = accepted.get(j);
+            String password;
+            try {
+                password = hashes.get(j).get();
+            } catch (InterruptedException e) {
+                hashes.forEach(hash -> hash.cancel(true));
+                Thread.currentThread().interrupt();
+                for (int pending : accepted) {
+                    results[pending] = new BulkItemResult(offset + pending, null, BulkItemResult.FAILED, "Not processed: the request was interrupted");
                 }
+                return List.of(results);
+            } catch (ExecutionException | CancellationException e) {
+                // Only this item fails; the rest of the chunk is still created
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                results[i] = new BulkItemResult(offset + i, null, BulkItemResult.FAILED, "Password hashing failed: " + cause.getMessage());
+                continue;
+            }
+            RegisterRequest request = chunk.get(i);
+            User user = new User();
+            user.setUsername(request.getUsername());
+            user.setEmail(request.getEmail());
+            user.setPassword(password);
+            users.add(user);
+            hashed.add(i);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int j = 0; j < users.size(); j++) {
+                    users.get(j).setRoles(resolveRoles(chunk.get(hashed.get(j)).getRoles()));
+                }
+                userRepository.saveAll(users);
+                userRepository.flush();
+                entityManager.clear();
             });
+            for (int j = 0; j < users.size(); j++) {
+                results[hashed.get(j)] = new BulkItemResult(offset + hashed.get(j), users.get(j).getId(), BulkItemResult.CREATED, null);
+                seenUsernames.add(users.get(j).getUsername());
+                seenEmails.add(users.get(j).getEmail());
+            }
+        } catch (RuntimeException e) {
+            // The whole chunk was rolled back, e.g. a username registered concurrently; earlier chunks stay
+            // committed, so this is reported per item instead of failing the request
+            String message = "Chunk rolled back: " + e.getMessage();
+            for (int i : hashed) {
+                results[i] = new BulkItemResult(offset + i, null, BulkItemResult.FAILED, message);
+            }
         }
-        user.setRoles(roles);
-        return userRepository.save(user);
+        return List.of(results);
+    }
+
+    // "ADMIN" maps to ROLE_ADMIN, anything else to ROLE_USER; no roles means ROLE_USER
+    private Set<Role> resolveRoles(Set<String> strRoles) {
+        Set<Role> roles = new HashSet<>();
+        if (strRoles == null || strRoles.isEmpty()) {
+            roles.add(role(ERole.ROLE_USER));
+        } else {
+            strRoles.forEach(role -> roles.add(
+                    "ADMIN".equals(role.toUpperCase()) ? role(ERole.ROLE_ADMIN) : role(ERole.ROLE_USER)));
+        }
+        return roles;
+    }
+
+    // Reference to the role by its cached id; a role that is not found is looked up again next time
+    private Role role(ERole name) {
+        Long id = roleIds.computeIfAbsent(name, n -> roleRepository.findByName(n).map(Role::getId).orElse(null));
+        if (id == null) {
+            throw new RuntimeException("Error: Role " + name.name().substring("ROLE_".length()) + " is not found.");
+        }
+        return roleRepository.getReferenceById(id);
     }
 }
@@ -0,0 +1,50 @@
+package com.example.activos_tic.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Checks shared by the bulk endpoints ({@link AssetService}, {@link AuthService}): each item is
+ * validated on its own, and the keys a chunk refers to are looked up with one IN query per key
+ * instead of one query per item.
+ */
+final class BulkChecks {
+
+    private BulkChecks() {
+    }
+
+    // The item's constraint violations as one message, or null when it is valid
+    static String validationError(Validator validator, Object item) {
+        if (item == null) {
+            return "Item is null";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return "Validation failed: " + violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+
+    // The distinct non-null keys of the non-null items
+    static <D, K> Set<K> collectKeys(List<D> items, Function<D, K> key) {
+        return items.stream()
+                .filter(Objects::nonNull)
+                .map(key)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    // No query for an empty set, which would also be an invalid IN ()
+    static <K, E> List<E> findIn(Set<K> keys, Function<Collection<K>, List<E>> finder) {
+        return keys.isEmpty() ? List.of() : finder.apply(keys);
+    }
+}
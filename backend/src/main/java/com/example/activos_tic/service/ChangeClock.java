@@ -0,0 +1,68 @@
+package com.example.activos_tic.service;
+
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The time of every change the change feed reads: updated_at (through JPA auditing), bulk updates
+ * and tombstones. A transaction that takes a time is open from then until it commits or rolls back,
+ * and {@link #watermark()} stays behind the oldest open one. A change is only visible to the feed
+ * once committed, but it carries the time it was made; holding the watermark behind every
+ * uncommitted change means a long transaction cannot commit below a watermark already handed out.
+ * <p>
+ * Open transactions are tracked in this process, like {@link DataVersionService}'s counter: the
+ * database is the application's own in-memory H2.
+ */
+@Service
+public class ChangeClock implements DateTimeProvider {
+
+    // Room for the wall clock being stepped back (NTP) and for two times in the same tick
+    private static final Duration CLOCK_MARGIN = Duration.ofSeconds(1);
+
+    // Open transactions by their key, with the time they were opened, no later than any time they took
+    private final Map<Object, Instant> open = new ConcurrentHashMap<>();
+
+    // The time for a change made now; within a transaction, holds the watermark until it completes
+    public Instant now() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(this)) {
+            Object transaction = new Object();
+            // Registered before the time below is read, so a watermark read in between still sees it
+            open.put(transaction, Instant.now());
+            TransactionSynchronizationManager.bindResource(this, transaction);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeClock.this);
+                    open.remove(transaction);
+                }
+            });
+        }
+        return Instant.now();
+    }
+
+    @Override
+    public Optional<TemporalAccessor> getNow() {
+        return Optional.of(now());
+    }
+
+    // Every change committed after this call has a later time than the result
+    public Instant watermark() {
+        Instant watermark = Instant.now();
+        for (Instant opened : open.values()) {
+            if (opened.isBefore(watermark)) {
+                watermark = opened;
+            }
+        }
+        return watermark.minus(CLOCK_MARGIN);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.domain.model.DeletedRecord;
+import com.example.activos_tic.domain.repository.DeletedRecordRepository;
+import com.example.activos_tic.domain.repository.EmployeeRepository;
+import com.example.activos_tic.domain.repository.HardwareRepository;
+import com.example.activos_tic.domain.repository.LicenseRepository;
+import com.example.activos_tic.domain.repository.WebAccessRepository;
+import com.example.activos_tic.dto.ChangeDto;
+import com.example.activos_tic.dto.EmployeeDto;
+import com.example.activos_tic.dto.HardwareDto;
+import com.example.activos_tic.dto.LicenseDto;
+import com.example.activos_tic.dto.WebAccessDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Incremental sync for downstream systems: the employees and assets created or changed after a
+ * watermark, the ones deleted after it (from tombstones) and the watermark for the next call.
+ * The cost follows the number of changes, through the updated_at and deleted_at indexes. Change
+ * times come from {@link ChangeClock}, which keeps the watermark behind transactions still open.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private HardwareRepository hardwareRepository;
+    @Autowired
+    private LicenseRepository licenseRepository;
+    @Autowired
+    private WebAccessRepository webAccessRepository;
+    @Autowired
+    private DeletedRecordRepository deletedRecordRepository;
+    @Autowired
+    private ChangeClock changeClock;
+
+    private final Duration tombstoneRetention;
+
+    public ChangeFeedService(@Value("${app.changes.tombstone-retention-days:90}") long tombstoneRetentionDays) {
+        this.tombstoneRetention = Duration.ofDays(tombstoneRetentionDays);
+    }
+
+    // Deletes older than the retention are gone, so such a watermark needs a full sync instead
+    public void validateSince(Instant since) {
+        if (since != null && since.isBefore(Instant.now().minus(tombstoneRetention))) {
+            throw new IllegalArgumentException("since is older than the " + tombstoneRetention.toDays()
+                    + " days of kept deletes; omit it to run a full sync");
+        }
+    }
+
+    // Without since, every row is sent as an UPSERT and there are no deletes
+    @Transactional(readOnly = true)
+    public void streamChanges(Instant since, Consumer<ChangeDto> consumer) {
+        validateSince(since);
+        // Taken before the reads and held behind uncommitted writes, so a change committed after the reads
+        // is sent next time instead of being lost. Changes are upserts and deletes by id, so receiving one
+        // twice (committed between the watermark and the reads) is harmless.
+        Instant watermark = changeClock.watermark();
+        upserts("employees", since == null ? employeeRepository.streamAllDtos() : employeeRepository.streamDtosUpdatedAfter(since),
+                EmployeeDto::getId, consumer);
+        upserts("hardware", since == null ? hardwareRepository.streamAllDtos() : hardwareRepository.streamDtosUpdatedAfter(since),
+                HardwareDto::getId, consumer);
+        upserts("licenses", since == null ? licenseRepository.streamAllDtos() : licenseRepository.streamDtosUpdatedAfter(since),
+                LicenseDto::getId, consumer);
+        // Passwords stay out of the feed, as in the Excel export
+        upserts("web_accesses", (since == null ? webAccessRepository.streamAllDtos() : webAccessRepository.streamDtosUpdatedAfter(since))
+                .peek(w -> w.setAccessPassword(null)), WebAccessDto::getId, consumer);
+        if (since != null) {
+            try (Stream<DeletedRecord> deleted = deletedRecordRepository.streamDeletedAfter(since)) {
+                deleted.forEach(d -> consumer.accept(new ChangeDto(ChangeDto.DELETE, d.getTableName(), d.getRecordId(), null, null)));
+            }
+        }
+        consumer.accept(new ChangeDto(ChangeDto.WATERMARK, null, null, null, watermark));
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = deletedRecordRepository.deleteOlderThan(Instant.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            logger.info("Purged {} tombstones older than {} days", purged, tombstoneRetention.toDays());
+        }
+    }
+
+    private static <D> void upserts(String table, Stream<D> rows, Function<D, Long> idOf, Consumer<ChangeDto> consumer) {
+        try (rows) {
+            rows.forEach(row -> consumer.accept(new ChangeDto(ChangeDto.UPSERT, table, idOf.apply(row), row, null)));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.activos_tic.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A counter of committed writes to the inventory. {@link AssetService} bumps it after every write it
+ * commits, so anything derived from the whole dataset (the Excel export) can be cached under the
+ * version it was built from and reused until the version moves on.
+ */
+@Service
+public class DataVersionService {
+
+    // Tells versions of different runs apart, the counter starts again at 0 on every start
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    // Strong ETag for what is built from the given version; a non-empty variant (e.g. a filter) goes in as a short hash
+    public String etag(long version, String variant) {
+        String suffix = variant.isEmpty() ? "" : "-" + sha256Prefix(variant);
+        return "\"" + epoch + "-" + version + suffix + "\"";
+    }
+
+    private static String sha256Prefix(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // Every JVM ships SHA-256
+        }
+    }
+
+    // Bumps once the current transaction commits (at once outside one), rolled back writes change nothing
+    public void changed() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+}
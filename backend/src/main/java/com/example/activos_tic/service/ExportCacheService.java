@@ -0,0 +1,315 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.dto.ExportFilter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Finished Excel exports kept on disk under the {@link DataVersionService} version and the filter
+ * they were built from. While nothing is written, every export after the first with the same filter
+ * is served from the cached file. The cache is bounded by total file size and drops the least
+ * recently used files first. A sweep every minute also drops files built from an older version, which
+ * no request can hit any more, and files unused for {@code app.export.cache.ttl-minutes}.
+ * <p>
+ * Files are handed out as a {@link Lease}, which pins the file until it is closed. A file evicted or
+ * replaced while leased leaves the cache at once, but stays on disk until its last lease is closed, so
+ * a copy to a client never loses its file halfway. Until then it still counts against the size budget:
+ * when pinned files alone fill it, a new export is served to its caller but not cached.
+ */
+@Service
+public class ExportCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportCacheService.class);
+
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    private final long maxBytes;
+    private final Duration ttl;
+    private final Path directory;
+    // Access ordered, so iteration starts at the least recently used file; guarded by itself
+    private final LinkedHashMap<String, CachedFile> files = new LinkedHashMap<>(16, 0.75f, true);
+    // Every file on disk, cached or evicted but still leased; guarded by the files lock
+    private long totalBytes;
+    // Exports being generated, so concurrent requests for the same export wait for one workbook
+    private final Map<String, CompletableFuture<Void>> inProgress = new ConcurrentHashMap<>();
+    // File names are numbered, the keys hold user input
+    private final AtomicLong fileCount = new AtomicLong();
+
+    public ExportCacheService(@Value("${app.export.cache.max-bytes:268435456}") long maxBytes,
+                              @Value("${app.export.cache.ttl-minutes:60}") long ttlMinutes) throws IOException {
+        this.maxBytes = maxBytes;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.directory = Files.createTempDirectory("activos-export-cache-");
+    }
+
+    // The cached export for the version and filter, generating it first if there is none. Close the lease once the file is read.
+    public Lease getOrCreate(long version, ExportFilter filter, ExportService.ProgressListener progress) throws IOException {
+        String key = key(version, filter);
+        while (true) {
+            Lease cached = lease(key);
+            if (cached != null) {
+                return cached;
+            }
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            CompletableFuture<Void> running = inProgress.putIfAbsent(key, mine);
+            if (running != null) {
+                // Leased on the next pass; in the rare case it was evicted already, it is generated again
+                await(running);
+                continue;
+            }
+            try {
+                // Another request may have finished this export between the lookup and the claim
+                Lease file = lease(key);
+                if (file == null) {
+                    Map<String, Long> rowsWritten = new ConcurrentHashMap<>();
+                    file = put(key, version, generate(filter, recording(progress, rowsWritten)), rowsWritten);
+                }
+                mine.complete(null);
+                return file;
+            } catch (IOException | RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inProgress.remove(key, mine);
+            }
+        }
+    }
+
+    // The cached export if it is still there, without generating it
+    public Lease find(long version, ExportFilter filter) {
+        return lease(key(version, filter));
+    }
+
+    private static String key(long version, ExportFilter filter) {
+        return version + "/" + filter.cacheKey();
+    }
+
+    private Lease lease(String key) {
+        synchronized (files) {
+            CachedFile cached = files.get(key);
+            if (cached == null || !Files.exists(cached.path)) {
+                return null;
+            }
+            cached.readers++;
+            cached.lastUsed = Instant.now();
+            return new Lease(cached);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void removeExpired() {
+        removeExpired(Instant.now(), dataVersionService.current());
+    }
+
+    // Drops the files of older versions and those unused since before the TTL; leased ones stay on disk until closed
+    void removeExpired(Instant now, long currentVersion) {
+        Instant cutoff = now.minus(ttl);
+        synchronized (files) {
+            Iterator<CachedFile> cached = files.values().iterator();
+            while (cached.hasNext()) {
+                CachedFile file = cached.next();
+                if (file.version < currentVersion || file.lastUsed.isBefore(cutoff)) {
+                    cached.remove();
+                    drop(file);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void clear() {
+        synchronized (files) {
+            files.clear();
+            totalBytes = 0;
+        }
+        try (Stream<Path> leftovers = Files.list(directory)) {
+            leftovers.forEach(ExportCacheService::deleteQuietly);
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            logger.warn("Could not delete export cache directory {}", directory, e);
+        }
+    }
+
+    private Path generate(ExportFilter filter, ExportService.ProgressListener progress) throws IOException {
+        Path partial = Files.createTempFile(directory, "export-", ".part");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+            exportService.writeAllDataToExcel(out, filter, progress);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(partial);
+            throw e;
+        }
+        return partial;
+    }
+
+    // Passes progress on and keeps the last count of each sheet, which is its final row count
+    private static ExportService.ProgressListener recording(ExportService.ProgressListener progress, Map<String, Long> rowsWritten) {
+        return (sheetName, rows) -> {
+            rowsWritten.put(sheetName, rows);
+            progress.rowsWritten(sheetName, rows);
+        };
+    }
+
+    // Leased to the caller before the lock is released, so a concurrent put cannot evict it first
+    private Lease put(String key, long version, Path partial, Map<String, Long> rowsWritten) throws IOException {
+        Path file = directory.resolve("export-" + fileCount.incrementAndGet() + ".xlsx");
+        Files.move(partial, file);
+        CachedFile added = new CachedFile(file, Files.size(file), version, rowsWritten);
+        synchronized (files) {
+            CachedFile replaced = files.put(key, added);
+            if (replaced != null) {
+                drop(replaced);
+            }
+            totalBytes += added.size;
+            added.readers++;
+            // The file just added goes last, and only when pinned files leave no room for it
+            Iterator<CachedFile> eldest = files.values().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                CachedFile evicted = eldest.next();
+                eldest.remove();
+                drop(evicted);
+            }
+            return new Lease(added);
+        }
+    }
+
+    // Out of the cache at once; off the disk, and out of the size budget, once no lease is left. Callers hold the lock.
+    private void drop(CachedFile cached) {
+        cached.evicted = true;
+        if (cached.readers == 0) {
+            delete(cached);
+        }
+    }
+
+    private void release(CachedFile cached) {
+        synchronized (files) {
+            cached.readers--;
+            if (cached.readers == 0 && cached.evicted) {
+                delete(cached);
+            }
+        }
+    }
+
+    private void delete(CachedFile cached) {
+        totalBytes -= cached.size;
+        deleteQuietly(cached.path);
+    }
+
+    // Bytes on disk, leased files evicted from the cache included
+    long totalBytes() {
+        synchronized (files) {
+            return totalBytes;
+        }
+    }
+
+    private static void await(CompletableFuture<Void> running) throws IOException {
+        try {
+            running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the export");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete cached export {}", file, e);
+        }
+    }
+
+    /** A cached export pinned on disk until {@link #close()}; closing it more than once has no effect. */
+    public final class Lease implements Closeable {
+        private final CachedFile file;
+        private boolean closed;
+
+        private Lease(CachedFile file) {
+            this.file = file;
+        }
+
+        public Path path() {
+            return file.path;
+        }
+
+        public long size() {
+            return file.size;
+        }
+
+        // Data rows of each sheet, by sheet name, for callers served from the cache who saw no progress
+        public Map<String, Long> rowsWritten() {
+            return file.rowsWritten;
+        }
+
+        // Another lease on the same file, for a holder that outlives this one (an export job)
+        public synchronized Lease copy() {
+            if (closed) {
+                throw new IllegalStateException("Lease is closed");
+            }
+            synchronized (files) {
+                file.readers++;
+                file.lastUsed = Instant.now();
+            }
+            return new Lease(file);
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                release(file);
+            }
+        }
+    }
+
+    // Readers, evicted and lastUsed are guarded by the files lock
+    private static final class CachedFile {
+        final Path path;
+        final long size;
+        final long version;
+        final Map<String, Long> rowsWritten;
+        int readers;
+        boolean evicted;
+        Instant lastUsed = Instant.now();
+
+        CachedFile(Path path, long size, long version, Map<String, Long> rowsWritten) {
+            this.path = path;
+            this.size = size;
+            this.version = version;
+            this.rowsWritten = Map.copyOf(rowsWritten);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.dto.ExportFilter;
+import com.example.activos_tic.dto.ExportJobDto;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Runs Excel exports in the background so no HTTP thread waits for the workbook. Jobs run on a small
+ * fixed pool with a bounded queue; when both are full new jobs are rejected instead of piling up.
+ * The finished file comes from {@link ExportCacheService}, so a job on unchanged data is done at once,
+ * with the row counts of the export that built the file.
+ * A finished job keeps a lease on its file, so the file stays downloadable even after the data
+ * changes and the cache drops it; the lease is closed, and the file deleted if no longer cached,
+ * when the job expires an hour after finishing. Only the newest {@value #MAX_JOBS_WITH_FILE} finished
+ * jobs keep their files, so however many jobs are started the pinned files stay few; the download of
+ * an older job answers 410.
+ */
+@Service
+public class ExportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobService.class);
+
+    private static final int WORKERS = 2;
+    // Jobs accepted while all workers are busy; one more is answered with 429
+    private static final int MAX_QUEUED = 4;
+    private static final Duration JOB_TTL = Duration.ofHours(1);
+    // Finished jobs that keep their file; the oldest one lets go of it when another finishes
+    static final int MAX_JOBS_WITH_FILE = 8;
+
+    @Autowired
+    private ExportCacheService exportCacheService;
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    // Finished jobs holding a lease, oldest first; guarded by itself
+    private final Deque<ExportJob> jobsWithFile = new ArrayDeque<>();
+    private final ThreadPoolExecutor workers = WorkerPools.bounded("export-job", WORKERS, MAX_QUEUED,
+            new ThreadPoolExecutor.AbortPolicy());
+
+    public ExportJobDto submit(ExportFilter filter) {
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), filter);
+        jobs.put(job.id, job);
+        try {
+            workers.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new TooManyExportJobsException("Too many export jobs in progress, try again later");
+        }
+        return job.toDto();
+    }
+
+    public ExportJobDto getJob(String id) {
+        return findJob(id).toDto();
+    }
+
+    // Whether the job is done and still holds its file, without pinning it
+    public boolean hasFile(String id) {
+        ExportJob job = findJob(id);
+        return ExportJobDto.DONE.equals(job.status) && !job.released;
+    }
+
+    // The finished file, pinned until the lease is closed; null while the job is still queued or running,
+    // if it failed or if its file was let go meanwhile
+    public ExportCacheService.Lease openFile(String id) {
+        ExportJob job = findJob(id);
+        if (!ExportJobDto.DONE.equals(job.status)) {
+            return null;
+        }
+        try {
+            return job.file.copy();
+        } catch (IllegalStateException e) {
+            return null; // Released between the lookup and the copy
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void removeExpiredJobs() {
+        Instant cutoff = Instant.now().minus(JOB_TTL);
+        jobs.values().removeIf(job -> {
+            if (job.finishedAt == null || !job.finishedAt.isBefore(cutoff)) {
+                return false;
+            }
+            release(job);
+            return true;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+        jobs.values().forEach(this::release);
+    }
+
+    private void run(ExportJob job) {
+        job.status = ExportJobDto.RUNNING;
+        try {
+            // Kept until the job expires
+            ExportCacheService.Lease file = exportCacheService.getOrCreate(dataVersionService.current(), job.filter, job.rowsWritten::put);
+            job.file = file;
+            job.fileSize = file.size();
+            // A job served from the cache, or that waited for the same export, got no progress calls
+            job.rowsWritten.putAll(file.rowsWritten());
+            keepFile(job);
+            job.finishedAt = Instant.now();
+            job.status = ExportJobDto.DONE; // Last, so a reader that sees DONE also sees the file
+        } catch (Exception e) {
+            logger.error("Export job {} failed", job.id, e);
+            job.error = e.getMessage();
+            job.finishedAt = Instant.now();
+            job.status = ExportJobDto.FAILED;
+        }
+    }
+
+    private void keepFile(ExportJob job) {
+        synchronized (jobsWithFile) {
+            jobsWithFile.addLast(job);
+            while (jobsWithFile.size() > MAX_JOBS_WITH_FILE) {
+                jobsWithFile.removeFirst().release();
+            }
+        }
+    }
+
+    private void release(ExportJob job) {
+        synchronized (jobsWithFile) {
+            jobsWithFile.remove(job);
+        }
+        job.release();
+    }
+
+    private ExportJob findJob(String id) {
+        ExportJob job = jobs.get(id);
+        if (job == null) {
+            throw new EntityNotFoundException("Export job not found: " + id);
+        }
+        return job;
+    }
+
+    // Written by the worker thread, read by status requests
+    private static final class ExportJob {
+        final String id;
+        final Instant createdAt = Instant.now();
+        final ExportFilter filter;
+        final Map<String, Long> rowsWritten = new ConcurrentHashMap<>();
+        volatile String status = ExportJobDto.QUEUED;
+        volatile Instant finishedAt;
+        volatile ExportCacheService.Lease file;
+        volatile Long fileSize;
+        volatile String error;
+        volatile boolean released;
+
+        ExportJob(String id, ExportFilter filter) {
+            this.id = id;
+            this.filter = filter;
+        }
+
+        void release() {
+            released = true;
+            if (file != null) {
+                file.close();
+            }
+        }
+
+        ExportJobDto toDto() {
+            ExportJobDto dto = new ExportJobDto();
+            dto.setId(id);
+            dto.setStatus(status);
+            dto.setCreatedAt(createdAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setRowsWritten(new TreeMap<>(rowsWritten));
+            dto.setFileSize(fileSize);
+            dto.setError(error);
+            return dto;
+        }
+    }
+}
@@ -4,130 +4,322 @@ import com.example.activos_tic.domain.model.Employee;
 import com.example.activos_tic.domain.model.Hardware;
 import com.example.activos_tic.domain.model.License;
 import com.example.activos_tic.domain.model.WebAccess;
-import com.example.activos_tic.domain.repository.EmployeeRepository;
-import com.example.activos_tic.domain.repository.HardwareRepository;
-import com.example.activos_tic.domain.repository.LicenseRepository;
-import com.example.activos_tic.domain.repository.WebAccessRepository;
+import com.example.activos_tic.domain.repository.AssetSpecifications;
+import com.example.activos_tic.dto.EmployeeDto;
+import com.example.activos_tic.dto.ExportFilter;
+import com.example.activos_tic.dto.HardwareDto;
+import com.example.activos_tic.dto.LicenseDto;
+import com.example.activos_tic.dto.WebAccessDto;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ExportService {
 
     @Autowired
-    private EmployeeRepository employeeRepository;
+    private AssetService assetService;
 
-    @Autowired
-    private HardwareRepository hardwareRepository;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    // Rows kept in memory per sheet; older rows are flushed to a compressed temp file
+    private static final int ROW_WINDOW = 100;
+    private static final int SHEET_COUNT = 4;
+    // Rows between two progress reports for one sheet
+    private static final int PROGRESS_EVERY = 1_000;
+    // Excel's own limit for a column width, in characters
+    private static final int EXCEL_MAX_COLUMN_CHARS = 255;
 
-    @Autowired
-    private LicenseRepository licenseRepository;
+    private static final String[] EMPLOYEE_HEADERS = {"ID", "Name", "Department", "Position"};
+    private static final String[] HARDWARE_HEADERS = {"ID", "Type", "Brand", "Serial Number", "Location", "Assigned Employee ID", "Assigned Employee Name"};
+    private static final String[] LICENSE_HEADERS = {"ID", "Software Name", "License Key", "Purchase Date", "Expiration Date", "Assigned Employee ID", "Assigned Employee Name"};
+    // Note: Password is intentionally excluded from export for security
+    private static final String[] WEB_ACCESS_HEADERS = {"ID", "Service Name", "URL", "Username", "Assigned Employee ID", "Assigned Employee Name"};
 
-    @Autowired
-    private WebAccessRepository webAccessRepository;
+    @Value("${app.export.parallel:true}")
+    private boolean parallelExport;
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    // Widest a column gets, in characters; longer values (license keys, URLs) are cut off visually only
+    @Value("${app.export.max-column-width:60}")
+    private int maxColumnWidth;
 
-    public ByteArrayInputStream exportAllDataToExcel() throws IOException {
-        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-
-            // Create Employee Sheet
-            Sheet employeeSheet = workbook.createSheet("Employees");
-            String[] employeeHeaders = {"ID", "Name", "Department", "Position"};
-            createHeaderRow(employeeSheet, employeeHeaders);
-            List<Employee> employees = employeeRepository.findAll();
-            int rowNum = 1;
-            for (Employee employee : employees) {
-                Row row = employeeSheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(employee.getId());
-                row.createCell(1).setCellValue(employee.getName());
-                row.createCell(2).setCellValue(employee.getDepartment());
-                row.createCell(3).setCellValue(employee.getPosition());
-            }
+    private final TransactionTemplate readOnlyTransaction;
+    // At most one thread per sheet and per core: filling sheets is CPU-bound, so extra threads on a small
+    // host only contend. Concurrent exports queue behind each other instead of opening more connections.
+    private final ExecutorService sheetExecutor = WorkerPools.unbounded("export-sheet",
+            Math.min(SHEET_COUNT, Runtime.getRuntime().availableProcessors()));
 
-            // Create Hardware Sheet
-            Sheet hardwareSheet = workbook.createSheet("Hardware");
-            String[] hardwareHeaders = {"ID", "Type", "Brand", "Serial Number", "Location", "Assigned Employee ID", "Assigned Employee Name"};
-            createHeaderRow(hardwareSheet, hardwareHeaders);
-            List<Hardware> hardwareList = hardwareRepository.findAll();
-            rowNum = 1;
-            for (Hardware hardware : hardwareList) {
-                Row row = hardwareSheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(hardware.getId());
-                row.createCell(1).setCellValue(hardware.getType());
-                row.createCell(2).setCellValue(hardware.getBrand());
-                row.createCell(3).setCellValue(hardware.getSerialNumber());
-                row.createCell(4).setCellValue(hardware.getLocation());
-                if (hardware.getAssignedEmployee() != null) {
-                    row.createCell(5).setCellValue(hardware.getAssignedEmployee().getId());
-                    row.createCell(6).setCellValue(hardware.getAssignedEmployee().getName());
-                }
+    public ExportService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /** Receives the number of data rows written so far to a sheet; may be called from several threads. */
+    @FunctionalInterface
+    public interface ProgressListener {
+        ProgressListener NONE = (sheetName, rowsWritten) -> { };
+
+        void rowsWritten(String sheetName, long rowsWritten);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sheetExecutor.shutdownNow();
+    }
+
+    /**
+     * Writes the export as .xlsx to {@code out}. Rows are streamed from the database as DTO
+     * projections and SXSSF keeps only {@link #ROW_WINDOW} rows per sheet in memory, flushing the rest
+     * to a compressed temp file per sheet, so heap use does not grow with the number of rows. Nothing
+     * reaches {@code out} until every sheet is filled: the workbook is then assembled from those temp
+     * files into {@code out} in one pass (the export cache passes a file, see ExportCacheService).
+     * The {@link ExportFilter} becomes the WHERE clause of each sheet's query, so only matching rows
+     * are read.
+     * <p>
+     * Each sheet is filled in its own read-only transaction. With {@code app.export.parallel} the
+     * sheets are filled concurrently: the workbook-level objects (sheets, header style) are created
+     * up front on the calling thread, and each task then only touches its own sheet, which SXSSF
+     * backs with its own temp file.
+     */
+    public void writeAllDataToExcel(OutputStream out) throws IOException {
+        writeAllDataToExcel(out, new ExportFilter(), ProgressListener.NONE);
+    }
+
+    public void writeAllDataToExcel(OutputStream out, ExportFilter filter, ProgressListener progress) throws IOException {
+        List<ExportSheet<?>> sheets = planSheets(filter);
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            List<Runnable> sheetTasks = new ArrayList<>();
+            for (ExportSheet<?> sheet : sheets) {
+                SXSSFSheet target = createSheet(workbook, sheet.name(), sheet.headers(), headerStyle);
+                sheetTasks.add(() -> fill(sheet, target, progress));
             }
 
-            // Create License Sheet
-            Sheet licenseSheet = workbook.createSheet("Licenses");
-            String[] licenseHeaders = {"ID", "Software Name", "License Key", "Purchase Date", "Expiration Date", "Assigned Employee ID", "Assigned Employee Name"};
-            createHeaderRow(licenseSheet, licenseHeaders);
-            List<License> licenses = licenseRepository.findAll();
-            rowNum = 1;
-            for (License license : licenses) {
-                Row row = licenseSheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(license.getId());
-                row.createCell(1).setCellValue(license.getSoftwareName());
-                row.createCell(2).setCellValue(license.getLicenseKey());
-                row.createCell(3).setCellValue(license.getPurchaseDate() != null ? license.getPurchaseDate().format(DATE_FORMATTER) : "");
-                row.createCell(4).setCellValue(license.getExpirationDate() != null ? license.getExpirationDate().format(DATE_FORMATTER) : "");
-                if (license.getAssignedEmployee() != null) {
-                    row.createCell(5).setCellValue(license.getAssignedEmployee().getId());
-                    row.createCell(6).setCellValue(license.getAssignedEmployee().getName());
-                }
+            if (parallelExport) {
+                runInParallel(sheetTasks);
+            } else {
+                sheetTasks.forEach(this::runReadOnly);
             }
+            workbook.write(out);
+        } finally {
+            workbook.close();
+            workbook.dispose(); // Deletes the temp files backing the flushed rows
+        }
+    }
 
-            // Create Web Access Sheet
-            Sheet webAccessSheet = workbook.createSheet("Web Accesses");
-            String[] webAccessHeaders = {"ID", "Service Name", "URL", "Username", "Assigned Employee ID", "Assigned Employee Name"};
-            // Note: Password is intentionally excluded from export for security
-            createHeaderRow(webAccessSheet, webAccessHeaders);
-            List<WebAccess> webAccesses = webAccessRepository.findAll();
-            rowNum = 1;
-            for (WebAccess webAccess : webAccesses) {
-                Row row = webAccessSheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(webAccess.getId());
-                row.createCell(1).setCellValue(webAccess.getServiceName());
-                row.createCell(2).setCellValue(webAccess.getUrl());
-                row.createCell(3).setCellValue(webAccess.getAccessUsername());
-                if (webAccess.getAssignedEmployee() != null) {
-                    row.createCell(4).setCellValue(webAccess.getAssignedEmployee().getId());
-                    row.createCell(5).setCellValue(webAccess.getAssignedEmployee().getName());
-                }
+    // Called before a response is started, so a bad filter is a 400 and not a broken download
+    public void validate(ExportFilter filter) {
+        if (filter.hasHardwareFilter() && filter.hasLicenseFilter()) {
+            throw new IllegalArgumentException("Hardware filters (hardwareType, location) and license filters "
+                    + "(softwareName, expiresFrom, expiresTo) apply to different sheets and cannot be combined");
+        }
+        if (filter.getExpiresFrom() != null && filter.getExpiresTo() != null
+                && filter.getExpiresFrom().isAfter(filter.getExpiresTo())) {
+            throw new IllegalArgumentException("expiresFrom must not be after expiresTo");
+        }
+    }
+
+    // --- Sheets ---
+    // The sheets every set filter applies to, in the usual order. With a filter, sheets without a
+    // matching row are left out; that is checked before any sheet is created, one indexed probe each.
+    private List<ExportSheet<?>> planSheets(ExportFilter filter) {
+        validate(filter);
+        List<ExportSheet<?>> sheets = new ArrayList<>();
+        boolean assetTypeFilter = filter.hasHardwareFilter() || filter.hasLicenseFilter();
+        if (!assetTypeFilter) {
+            sheets.add(employeeSheet(filter));
+        }
+        if (!filter.hasLicenseFilter()) {
+            sheets.add(hardwareSheet(filter));
+        }
+        if (!filter.hasHardwareFilter()) {
+            sheets.add(licenseSheet(filter));
+        }
+        if (!assetTypeFilter) {
+            sheets.add(webAccessSheet(filter));
+        }
+        if (!filter.hasAnyFilter()) {
+            return sheets;
+        }
+        List<ExportSheet<?>> withRows = sheets.stream()
+                .filter(sheet -> sheet.hasRows().getAsBoolean())
+                .collect(Collectors.toList());
+        // A workbook needs one sheet: when nothing matches, the first one is kept with its headers only
+        return withRows.isEmpty() ? sheets.subList(0, 1) : withRows;
+    }
+
+    private ExportSheet<EmployeeDto> employeeSheet(ExportFilter filter) {
+        Specification<Employee> spec = Specification.<Employee>where(AssetSpecifications.fieldEquals("department", filter.getDepartment()))
+                .and(AssetSpecifications.idIn(filter.getEmployeeIds()));
+        return new ExportSheet<>("Employees", EMPLOYEE_HEADERS, () -> assetService.streamEmployees(spec),
+                () -> assetService.anyMatching(Employee.class, spec), ExportService::writeEmployeeRow);
+    }
+
+    private ExportSheet<HardwareDto> hardwareSheet(ExportFilter filter) {
+        Specification<Hardware> spec = ExportService.<Hardware>assignedTo(filter)
+                .and(AssetSpecifications.fieldEquals("type", filter.getHardwareType()))
+                .and(AssetSpecifications.fieldEquals("location", filter.getLocation()));
+        return new ExportSheet<>("Hardware", HARDWARE_HEADERS, () -> assetService.streamHardware(spec),
+                () -> assetService.anyMatching(Hardware.class, spec), ExportService::writeHardwareRow);
+    }
+
+    private ExportSheet<LicenseDto> licenseSheet(ExportFilter filter) {
+        Specification<License> spec = ExportService.<License>assignedTo(filter)
+                .and(AssetSpecifications.fieldEquals("softwareName", filter.getSoftwareName()))
+                .and(AssetSpecifications.dateBetween("expirationDate", filter.getExpiresFrom(), filter.getExpiresTo()));
+        return new ExportSheet<>("Licenses", LICENSE_HEADERS, () -> assetService.streamLicenses(spec),
+                () -> assetService.anyMatching(License.class, spec), ExportService::writeLicenseRow);
+    }
+
+    private ExportSheet<WebAccessDto> webAccessSheet(ExportFilter filter) {
+        Specification<WebAccess> spec = assignedTo(filter);
+        return new ExportSheet<>("Web Accesses", WEB_ACCESS_HEADERS, () -> assetService.streamWebAccesses(spec),
+                () -> assetService.anyMatching(WebAccess.class, spec), ExportService::writeWebAccessRow);
+    }
+
+    // Department and employee filters reach the assets through their assignment
+    private static <T> Specification<T> assignedTo(ExportFilter filter) {
+        return Specification.<T>where(AssetSpecifications.assignedToDepartment(filter.getDepartment()))
+                .and(AssetSpecifications.assignedToAny(filter.getEmployeeIds()));
+    }
+
+    private <T> void fill(ExportSheet<T> sheet, SXSSFSheet target, ProgressListener progress) {
+        try (Stream<T> rows = sheet.rows().get()) {
+            ColumnWidths widths = new ColumnWidths(sheet.headers());
+            fillSheet(target, rows, progress, sheet.rowWriter(), widths);
+            widths.applyTo(target, Math.min(maxColumnWidth, EXCEL_MAX_COLUMN_CHARS));
+        }
+    }
+
+    private static void writeEmployeeRow(Row row, EmployeeDto employee) {
+        row.createCell(0).setCellValue(employee.getId());
+        row.createCell(1).setCellValue(employee.getName());
+        row.createCell(2).setCellValue(employee.getDepartment());
+        row.createCell(3).setCellValue(employee.getPosition());
+    }
+
+    private static void writeHardwareRow(Row row, HardwareDto hardware) {
+        row.createCell(0).setCellValue(hardware.getId());
+        row.createCell(1).setCellValue(hardware.getType());
+        row.createCell(2).setCellValue(hardware.getBrand());
+        row.createCell(3).setCellValue(hardware.getSerialNumber());
+        row.createCell(4).setCellValue(hardware.getLocation());
+        if (hardware.getAssignedEmployeeId() != null) {
+            row.createCell(5).setCellValue(hardware.getAssignedEmployeeId());
+            row.createCell(6).setCellValue(hardware.getAssignedEmployeeName());
+        }
+    }
+
+    private static void writeLicenseRow(Row row, LicenseDto license) {
+        row.createCell(0).setCellValue(license.getId());
+        row.createCell(1).setCellValue(license.getSoftwareName());
+        row.createCell(2).setCellValue(license.getLicenseKey());
+        row.createCell(3).setCellValue(formatDate(license.getPurchaseDate()));
+        row.createCell(4).setCellValue(formatDate(license.getExpirationDate()));
+        if (license.getAssignedEmployeeId() != null) {
+            row.createCell(5).setCellValue(license.getAssignedEmployeeId());
+            row.createCell(6).setCellValue(license.getAssignedEmployeeName());
+        }
+    }
+
+    private static void writeWebAccessRow(Row row, WebAccessDto webAccess) {
+        row.createCell(0).setCellValue(webAccess.getId());
+        row.createCell(1).setCellValue(webAccess.getServiceName());
+        row.createCell(2).setCellValue(webAccess.getUrl());
+        row.createCell(3).setCellValue(webAccess.getAccessUsername());
+        if (webAccess.getAssignedEmployeeId() != null) {
+            row.createCell(4).setCellValue(webAccess.getAssignedEmployeeId());
+            row.createCell(5).setCellValue(webAccess.getAssignedEmployeeName());
+        }
+    }
+
+    // --- Helpers ---
+    private void runReadOnly(Runnable task) {
+        readOnlyTransaction.executeWithoutResult(status -> task.run());
+    }
+
+    private void runInParallel(List<Runnable> tasks) throws IOException {
+        List<Future<?>> futures = new ArrayList<>();
+        for (Runnable task : tasks) {
+            futures.add(sheetExecutor.submit(() -> runReadOnly(task)));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
             }
+            throw new IllegalStateException("Export sheet failed", e.getCause());
+        } finally {
+            // A failed or interrupted export must not leave other sheets writing to a workbook being disposed
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
 
-            // Auto-size columns for readability
-            autoSizeColumns(employeeSheet, employeeHeaders.length);
-            autoSizeColumns(hardwareSheet, hardwareHeaders.length);
-            autoSizeColumns(licenseSheet, licenseHeaders.length);
-            autoSizeColumns(webAccessSheet, webAccessHeaders.length);
+    private SXSSFSheet createSheet(SXSSFWorkbook workbook, String name, String[] headers, CellStyle headerStyle) {
+        SXSSFSheet sheet = workbook.createSheet(name);
+        createHeaderRow(sheet, headers, headerStyle);
+        return sheet;
+    }
 
-            workbook.write(out);
-            return new ByteArrayInputStream(out.toByteArray());
+    private <T> void fillSheet(Sheet sheet, Stream<T> rows, ProgressListener progress, BiConsumer<Row, T> rowWriter,
+                               ColumnWidths widths) {
+        int rowNum = 1;
+        for (Iterator<T> it = rows.iterator(); it.hasNext(); ) {
+            Row row = sheet.createRow(rowNum++);
+            rowWriter.accept(row, it.next());
+            widths.measure(row);
+            if (rowNum % PROGRESS_EVERY == 0) {
+                progress.rowsWritten(sheet.getSheetName(), rowNum - 1);
+            }
         }
+        progress.rowsWritten(sheet.getSheetName(), rowNum - 1);
     }
 
-    private void createHeaderRow(Sheet sheet, String[] headers) {
-        Row headerRow = sheet.createRow(0);
-        CellStyle headerCellStyle = sheet.getWorkbook().createCellStyle();
-        Font headerFont = sheet.getWorkbook().createFont();
+    private static String formatDate(LocalDate date) {
+        return date != null ? date.format(DATE_FORMATTER) : "";
+    }
+
+    private CellStyle createHeaderStyle(Workbook workbook) {
+        CellStyle headerCellStyle = workbook.createCellStyle();
+        Font headerFont = workbook.createFont();
         headerFont.setBold(true);
         headerCellStyle.setFont(headerFont);
+        return headerCellStyle;
+    }
 
+    private void createHeaderRow(Sheet sheet, String[] headers, CellStyle headerCellStyle) {
+        Row headerRow = sheet.createRow(0);
         for (int i = 0; i < headers.length; i++) {
             Cell cell = headerRow.createCell(i);
             cell.setCellValue(headers[i]);
@@ -135,9 +327,62 @@ public class ExportService {
         }
     }
 
-    private void autoSizeColumns(Sheet sheet, int numColumns) {
-        for (int i = 0; i < numColumns; i++) {
-            sheet.autoSizeColumn(i);
+    /**
+     * The longest value of each column, in characters, measured while the rows are written. Takes the
+     * place of {@link Sheet#autoSizeColumn}, which lays out every cell through AWT font metrics and, with
+     * SXSSF, only sees the rows still in the window. Counting characters is a close enough fit for the
+     * default font, and costs next to nothing per row.
+     */
+    private static final class ColumnWidths {
+        // Room for the filter arrow and the bold header font
+        private static final int PADDING_CHARS = 2;
+
+        private final int[] maxChars;
+
+        ColumnWidths(String[] headers) {
+            maxChars = new int[headers.length];
+            for (int i = 0; i < headers.length; i++) {
+                maxChars[i] = headers[i].length();
+            }
+        }
+
+        void measure(Row row) {
+            for (Cell cell : row) {
+                int column = cell.getColumnIndex();
+                if (column < maxChars.length) {
+                    maxChars[column] = Math.max(maxChars[column], displayLength(cell));
+                }
+            }
+        }
+
+        void applyTo(Sheet sheet, int maxWidthChars) {
+            for (int i = 0; i < maxChars.length; i++) {
+                // Widths are in 1/256ths of a character
+                sheet.setColumnWidth(i, Math.min(maxChars[i] + PADDING_CHARS, maxWidthChars) * 256);
+            }
+        }
+
+        private static int displayLength(Cell cell) {
+            if (cell.getCellType() == CellType.NUMERIC) {
+                double value = cell.getNumericCellValue();
+                long whole = (long) value;
+                return value == whole ? stringSize(whole) : Double.toString(value).length();
+            }
+            return cell.getCellType() == CellType.STRING ? cell.getStringCellValue().length() : 0;
         }
+
+        // Digits (and sign) of a whole number, without building the string
+        private static int stringSize(long value) {
+            int size = value < 0 ? 2 : 1;
+            for (long rest = Math.abs(value / 10); rest > 0; rest /= 10) {
+                size++;
+            }
+            return size;
+        }
+    }
+
+    // One sheet of the export: its rows, already narrowed by the filter in the database, and how each row is written
+    private record ExportSheet<T>(String name, String[] headers, Supplier<Stream<T>> rows,
+                                  BooleanSupplier hasRows, BiConsumer<Row, T> rowWriter) {
     }
 }
@@ -0,0 +1,143 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.domain.repository.EmployeeRepository;
+import com.example.activos_tic.domain.repository.HardwareRepository;
+import com.example.activos_tic.domain.repository.LicenseRepository;
+import com.example.activos_tic.domain.repository.RoleRepository;
+import com.example.activos_tic.domain.repository.UserRepository;
+import com.example.activos_tic.domain.repository.WebAccessRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * CSV tables for the analitica service, with the file and column names its loaders read
+ * (analitica/database.py). Rows are written from repository cursors as they are read, so a table of
+ * any size is never held in memory. Secrets (user password hashes, web access passwords) are left out.
+ */
+@Service
+public class FeedService {
+
+    private static final int WRITE_BUFFER = 64 * 1024;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private HardwareRepository hardwareRepository;
+    @Autowired
+    private LicenseRepository licenseRepository;
+    @Autowired
+    private WebAccessRepository webAccessRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+
+    // Snapshot order; the suppliers only touch the repositories when a table is written
+    private final Map<String, FeedTable> tables = new LinkedHashMap<>();
+
+    public FeedService() {
+        tables.put("employees", new FeedTable(new String[]{"id", "name", "department", "position"},
+                () -> employeeRepository.streamAllDtos()
+                        .map(e -> new Object[]{e.getId(), e.getName(), e.getDepartment(), e.getPosition()})));
+        tables.put("hardware", new FeedTable(new String[]{"id", "type", "brand", "serial_number", "location", "employee_id"},
+                () -> hardwareRepository.streamAllDtos()
+                        .map(h -> new Object[]{h.getId(), h.getType(), h.getBrand(), h.getSerialNumber(), h.getLocation(), h.getAssignedEmployeeId()})));
+        tables.put("licenses", new FeedTable(new String[]{"id", "software_name", "license_key", "purchase_date", "expiration_date", "employee_id"},
+                () -> licenseRepository.streamAllDtos()
+                        .map(l -> new Object[]{l.getId(), l.getSoftwareName(), l.getLicenseKey(), l.getPurchaseDate(), l.getExpirationDate(), l.getAssignedEmployeeId()})));
+        tables.put("web_accesses", new FeedTable(new String[]{"id", "service_name", "url", "access_username", "employee_id"},
+                () -> webAccessRepository.streamAllDtos()
+                        .map(w -> new Object[]{w.getId(), w.getServiceName(), w.getUrl(), w.getAccessUsername(), w.getAssignedEmployeeId()})));
+        tables.put("users", new FeedTable(new String[]{"id", "username", "email"},
+                () -> userRepository.streamFeedRows()));
+        tables.put("roles", new FeedTable(new String[]{"id", "name"},
+                () -> roleRepository.streamFeedRows()));
+        tables.put("user_roles", new FeedTable(new String[]{"user_id", "role_id"},
+                () -> userRepository.streamRoleAssignments()));
+    }
+
+    // Checked before a response is started, since errors cannot be reported once rows are on the wire
+    public void requireTable(String table) {
+        if (!tables.containsKey(table)) {
+            throw new EntityNotFoundException("Unknown feed table: " + table);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeCsv(String table, OutputStream out) throws IOException {
+        requireTable(table);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER);
+        writeTable(tables.get(table), writer);
+        writer.flush();
+    }
+
+    // Every table as <table>.csv in one zip, all read in the same transaction
+    @Transactional(readOnly = true)
+    public void writeSnapshot(OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), WRITE_BUFFER);
+        for (Map.Entry<String, FeedTable> table : tables.entrySet()) {
+            zip.putNextEntry(new ZipEntry(table.getKey() + ".csv"));
+            writeTable(table.getValue(), writer);
+            writer.flush();
+            zip.closeEntry();
+        }
+        zip.finish();
+    }
+
+    private void writeTable(FeedTable table, Writer writer) throws IOException {
+        writeRow(writer, table.columns());
+        try (Stream<Object[]> rows = table.rows().get()) {
+            rows.forEach(row -> {
+                try {
+                    writeRow(writer, row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // RFC 4180: fields with a comma, quote or line break are quoted, quotes doubled; null is an empty field
+    private static void writeRow(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+            } else {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            }
+        }
+        writer.write('\n');
+    }
+
+    private record FeedTable(String[] columns, Supplier<Stream<Object[]>> rows) {
+    }
+}
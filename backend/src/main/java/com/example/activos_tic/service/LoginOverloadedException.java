@@ -0,0 +1,11 @@
+package com.example.activos_tic.service;
+
+// Thrown when the password check queue is full; the client should retry shortly
+public class LoginOverloadedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LoginOverloadedException(String message) {
+        super(message);
+    }
+}
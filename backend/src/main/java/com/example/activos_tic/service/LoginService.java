@@ -0,0 +1,87 @@
+package com.example.activos_tic.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password checks of POST /api/auth/login, kept off the request threads. BCrypt is deliberately
+ * CPU-heavy, so logins run on a small pool of their own (half the cores by default) with a bounded
+ * queue: a burst of logins queues there instead of taking every CPU from the rest of the API, and
+ * once the queue is full further logins get a 503 at once. Before queueing, each attempt takes a
+ * token from the per-IP and per-username buckets of {@link LoginThrottle} (429 when empty).
+ * <p>
+ * Metrics: {@code auth.login.queue.wait} (time queued before the check starts),
+ * {@code auth.password.hash} (each BCrypt check, see SecurityConfig), {@code auth.login.rejected}
+ * tagged with the reason, and the {@code auth.login.queued} / {@code auth.login.active} gauges.
+ */
+@Service
+public class LoginService {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    private final ThreadPoolExecutor verifiers;
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWait;
+    private final Counter rejectedOverloaded;
+
+    public LoginService(@Value("${app.auth.login.threads:0}") int threads,
+                        @Value("${app.auth.login.max-queued:100}") int maxQueued,
+                        MeterRegistry meterRegistry) {
+        this.verifiers = WorkerPools.bounded("login", WorkerPools.threadsOrHalfTheCores(threads), maxQueued,
+                new ThreadPoolExecutor.AbortPolicy());
+        this.meterRegistry = meterRegistry;
+        this.queueWait = Timer.builder("auth.login.queue.wait")
+                .description("Time a login waits for a password check thread")
+                .register(meterRegistry);
+        this.rejectedOverloaded = rejected("overloaded");
+        Gauge.builder("auth.login.queued", verifiers, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.login.active", verifiers, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        verifiers.shutdownNow();
+    }
+
+    // Completes with the authenticated user, or exceptionally (e.g. BadCredentialsException)
+    public CompletableFuture<Authentication> authenticate(String username, String password, String clientIp) {
+        try {
+            loginThrottle.acquire(clientIp, username);
+        } catch (TooManyLoginAttemptsException e) {
+            rejected(e.getScope()).increment();
+            throw e;
+        }
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+            }, verifiers);
+        } catch (RejectedExecutionException e) {
+            rejectedOverloaded.increment();
+            throw new LoginOverloadedException("Too many logins in progress, try again shortly");
+        }
+    }
+
+    private Counter rejected(String reason) {
+        return Counter.builder("auth.login.rejected").tag("reason", reason).register(meterRegistry);
+    }
+}
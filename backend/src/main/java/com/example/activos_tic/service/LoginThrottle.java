@@ -0,0 +1,138 @@
+package com.example.activos_tic.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token buckets for login attempts, one per client IP and one per username. A bucket holds
+ * {@code capacity} attempts and refills at {@code refill-per-minute}.
+ * <p>
+ * Each bucket is a single long, the time at which it will be full again (the GCRA form of a token
+ * bucket), updated with compare-and-set, so checks take no lock. Keys are hashed onto a fixed array
+ * of stripes, so memory stays constant (512 KB per scope) whatever the number of users or addresses.
+ * <p>
+ * Every key has two stripes from two hashes seeded at startup (count-min style): its bucket is the
+ * emptier of the two, and an attempt fills both. A key is only throttled by others when both of its
+ * stripes are drained by other keys, which an attacker cannot aim for without knowing the seed. The
+ * trade-off is the other way round: a throttled key also drains two stripes, so a key sharing both
+ * with it can be let through with fewer attempts than its own bucket allows, never more. With 1,000
+ * usernames throttled at the same time, about 1 in 1,000 other usernames shares both stripes with them
+ * (1 in 4 with a single hash on the previous 4,096 stripes).
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int STRIPES = 1 << 16; // Power of two
+
+    private final long origin = System.nanoTime();
+    private final Buckets perIp;
+    private final Buckets perUsername;
+
+    public LoginThrottle(@Value("${app.auth.login.per-ip.capacity:300}") int ipCapacity,
+                         @Value("${app.auth.login.per-ip.refill-per-minute:1200}") int ipRefillPerMinute,
+                         @Value("${app.auth.login.per-username.capacity:5}") int usernameCapacity,
+                         @Value("${app.auth.login.per-username.refill-per-minute:10}") int usernameRefillPerMinute) {
+        this.perIp = Buckets.of(ipCapacity, ipRefillPerMinute);
+        this.perUsername = Buckets.of(usernameCapacity, usernameRefillPerMinute);
+    }
+
+    // Takes one attempt from both buckets, or throws with how long to wait. The IP bucket is only checked
+    // before the username is taken, and taken after: an attempt on a locked-out username does not use up the
+    // address's budget, which an office behind NAT shares. Only two attempts from the same address racing
+    // for its last token can cost a username attempt without being let through.
+    public void acquire(String clientIp, String username) {
+        long now = System.nanoTime() - origin;
+        if (perIp != null) {
+            reject("ip", perIp.waitFor(clientIp, now));
+        }
+        if (perUsername != null) {
+            reject("username", perUsername.tryTake(username.toLowerCase(Locale.ROOT), now));
+        }
+        if (perIp != null) {
+            reject("ip", perIp.tryTake(clientIp, now));
+        }
+    }
+
+    private static void reject(String scope, long waitNanos) {
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            throw new TooManyLoginAttemptsException(scope, retryAfterSeconds);
+        }
+    }
+
+    private static final class Buckets {
+        // Per stripe: when its bucket is full again, in nanoseconds since origin; 0 is full from the start
+        private final AtomicLongArray fullAt = new AtomicLongArray(STRIPES);
+        private final long seed = new SecureRandom().nextLong();
+        private final long intervalNanos;
+        private final long burstNanos;
+
+        private Buckets(long intervalNanos, long burstNanos) {
+            this.intervalNanos = intervalNanos;
+            this.burstNanos = burstNanos;
+        }
+
+        // No bucket (no limit) when either setting is 0
+        static Buckets of(int capacity, int refillPerMinute) {
+            if (capacity <= 0 || refillPerMinute <= 0) {
+                return null;
+            }
+            long intervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+            return new Buckets(intervalNanos, intervalNanos * capacity);
+        }
+
+        // 0 after taking a token, otherwise the nanoseconds until one is available
+        long tryTake(String key, long now) {
+            long hash = hash(key);
+            int first = (int) hash & (STRIPES - 1);
+            int second = (int) (hash >>> 32) & (STRIPES - 1);
+            while (true) {
+                long firstFullAt = fullAt.get(first);
+                long secondFullAt = fullAt.get(second);
+                // The emptier stripe is the key's bucket; setting it decides the attempt, as with one stripe
+                int stripe = firstFullAt <= secondFullAt ? first : second;
+                long current = Math.min(firstFullAt, secondFullAt);
+                long next = Math.max(current, now) + intervalNanos;
+                if (next - now > burstNanos) {
+                    return next - now - burstNanos;
+                }
+                if (fullAt.compareAndSet(stripe, current, next)) {
+                    raise(stripe == first ? second : first, next);
+                    return 0;
+                }
+            }
+        }
+
+        // What tryTake would return, without taking the token
+        long waitFor(String key, long now) {
+            long hash = hash(key);
+            long current = Math.min(fullAt.get((int) hash & (STRIPES - 1)), fullAt.get((int) (hash >>> 32) & (STRIPES - 1)));
+            long next = Math.max(current, now) + intervalNanos;
+            return Math.max(0, next - now - burstNanos);
+        }
+
+        // The other stripe only moves forward, a concurrent later attempt may have set it further already
+        private void raise(int stripe, long next) {
+            long current;
+            do {
+                current = fullAt.get(stripe);
+            } while (current < next && !fullAt.compareAndSet(stripe, current, next));
+        }
+
+        // 64 bits of a seeded FNV-1a over the key, mixed; one stripe index from each half
+        private long hash(String key) {
+            long hash = seed ^ 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+            }
+            hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+            hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return hash ^ (hash >>> 33);
+        }
+    }
+}
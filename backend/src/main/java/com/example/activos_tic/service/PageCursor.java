@@ -0,0 +1,32 @@
+package com.example.activos_tic.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a list page: the sort field, that row's sort value and its id.
+ * Sent to clients as an opaque URL-safe string. The next page seeks from the pair itself, so it
+ * never depends on that row still existing or keeping its value.
+ */
+record PageCursor(String field, String value, long id) {
+
+    String encode() {
+        // The value goes last so it may contain the separator
+        String raw = field + "|" + id + "|" + (value != null ? value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The cursor must come from a page sorted by the same field
+    static PageCursor decode(String cursor, String expectedField) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length == 3 && parts[0].equals(expectedField)) {
+                return new PageCursor(parts[0], "id".equals(expectedField) ? null : parts[2], Long.parseLong(parts[1]));
+            }
+        } catch (IllegalArgumentException e) {
+            // Not base64 or not a number; reported below
+        }
+        throw new IllegalArgumentException("Invalid cursor for sort '" + expectedField + "'");
+    }
+}
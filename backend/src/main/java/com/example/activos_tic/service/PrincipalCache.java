@@ -0,0 +1,73 @@
+package com.example.activos_tic.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accounts loaded for request authentication when the principal is not taken from the token
+ * ({@code app.auth.principal-from-token=false}). Each account is reused for a short TTL, so the
+ * check costs one query per user and TTL instead of one per request; a change to the account (or
+ * its deletion) is seen once its entry expires. The map is bounded, and with a TTL of 0 every
+ * request loads the account.
+ */
+@Service
+public class PrincipalCache {
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    // Entries are re-inserted when loaded, so insertion order is also expiry order
+    private final LinkedHashMap<String, CachedPrincipal> principals = new LinkedHashMap<>();
+
+    public PrincipalCache(@Value("${app.auth.principal-cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${app.auth.principal-cache.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    // Throws UsernameNotFoundException for an account that no longer exists; misses are not cached
+    public UserDetails load(String username) {
+        if (ttlNanos <= 0 || maxEntries <= 0) {
+            return userDetailsService.loadUserByUsername(username);
+        }
+        long now = System.nanoTime();
+        synchronized (principals) {
+            CachedPrincipal cached = principals.get(username);
+            if (cached != null && cached.expiresAt() - now > 0) {
+                return cached.user();
+            }
+        }
+        // Loaded outside the lock: concurrent misses for one user may both query, which is harmless
+        UserDetails user = userDetailsService.loadUserByUsername(username);
+        synchronized (principals) {
+            principals.remove(username);
+            principals.put(username, new CachedPrincipal(user, now + ttlNanos));
+            evict(now);
+        }
+        return user;
+    }
+
+    // Drops expired entries from the head, then the oldest ones while over the bound
+    private void evict(long now) {
+        Iterator<Map.Entry<String, CachedPrincipal>> it = principals.entrySet().iterator();
+        while (it.hasNext()) {
+            CachedPrincipal eldest = it.next().getValue();
+            if (eldest.expiresAt() - now > 0 && principals.size() <= maxEntries) {
+                break;
+            }
+            it.remove();
+        }
+    }
+
+    private record CachedPrincipal(UserDetails user, long expiresAt) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.activos_tic.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Revoked token ids (jti) in memory: a Bloom filter in front of the exact set. Almost every token
+ * checked is not revoked, and the filter answers that from a few bits without touching the set;
+ * only a filter hit (a revoked token, or a false positive about 1% of the time at capacity) looks
+ * in the set. Lookups take no lock: the bits are an AtomicLongArray and the set a ConcurrentHashMap.
+ * <p>
+ * The size is fixed when the list is built, for {@code capacity} entries. Past that the filter still
+ * gives correct answers, with more false positives, until {@link TokenRevocationService} builds a
+ * larger one. Adds must come from one thread at a time (the service's lock).
+ */
+public class RevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MAX_HASHES = 16;
+
+    // Token id -> when the token expires
+    private final Map<String, Instant> revoked;
+    private final int capacity;
+    private final AtomicLongArray bits;
+    private final int mask;
+    private final int hashes;
+
+    public RevocationList(Map<String, Instant> entries, int expectedEntries) {
+        this.revoked = new ConcurrentHashMap<>(entries);
+        this.capacity = Math.max(Math.max(1, expectedEntries), 2 * entries.size());
+        // Optimal size for the false positive rate, rounded up to a power of two so probes are a mask
+        double optimalBits = -capacity * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2));
+        int numBits = Math.max(64, Integer.highestOneBit((int) Math.min(optimalBits, 1 << 30) - 1) << 1);
+        this.bits = new AtomicLongArray(numBits / 64);
+        this.mask = numBits - 1;
+        this.hashes = (int) Math.min(MAX_HASHES, Math.max(1, Math.round((double) numBits / capacity * Math.log(2))));
+        this.revoked.keySet().forEach(this::setBits);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        long hash = hash64(tokenId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1; // Odd, so the probes cover the whole power-of-two table
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    // The exact set first, so a reader that sees the bits also finds the entry
+    void add(String tokenId, Instant expiresAt) {
+        revoked.put(tokenId, expiresAt);
+        setBits(tokenId);
+    }
+
+    Map<String, Instant> entries() {
+        return revoked;
+    }
+
+    boolean isOverCapacity() {
+        return revoked.size() > capacity;
+    }
+
+    private void setBits(String tokenId) {
+        long hash = hash64(tokenId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & mask;
+            long flag = 1L << bit;
+            bits.getAndAccumulate(bit >>> 6, flag, (word, f) -> word | f);
+        }
+    }
+
+    // FNV-1a over the characters, then the splitmix64 finalizer to spread its bits
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53e58b3L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.config.JwtClaims;
+import com.example.activos_tic.domain.model.RevokedToken;
+import com.example.activos_tic.domain.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Revoked tokens (POST /api/auth/logout). Revocations are stored in the revoked_tokens table and
+ * held in memory in a {@link RevocationList}, so JwtAuthFilter checks every request without a query
+ * or a lock. The list is loaded at startup and rebuilt every {@code app.auth.revocation.refresh-ms},
+ * when expired revocations are deleted. Revocations made by other instances are picked up in between,
+ * every {@code app.auth.revocation.poll-ms}, with one indexed query for the rows revoked since the last
+ * poll; until then, a token logged out elsewhere is still accepted here.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // Each poll reads back this far before the previous one: revoked_at is set before the row commits,
+    // so a revocation committed late is still found. Adding one twice changes nothing.
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedEntries;
+    // Revocations and rebuilds; readers only follow the volatile reference
+    private final Object writeLock = new Object();
+    private volatile RevocationList revocations;
+    // When the last poll or reload read the table; guarded by writeLock
+    private Instant lastRead = Instant.EPOCH;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${app.auth.revocation.expected-entries:10000}") int expectedEntries) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.revocations = new RevocationList(Map.of(), expectedEntries);
+    }
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    // Tokens issued without a jti cannot be revoked one by one; they run until they expire
+    public boolean isRevoked(JwtClaims claims) {
+        return claims.tokenId() != null && revocations.isRevoked(claims.tokenId());
+    }
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        // Stored first: a rebuild that starts before the commit misses the row, but this add then waits for it and lands in the new list
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt, Instant.now()));
+        synchronized (writeLock) {
+            revocations.add(tokenId, expiresAt);
+            growIfFull();
+        }
+    }
+
+    // Adds the revocations made since the last read, including other instances' logouts
+    @Scheduled(fixedDelayString = "${app.auth.revocation.poll-ms:5000}",
+               initialDelayString = "${app.auth.revocation.poll-ms:5000}")
+    public void poll() {
+        synchronized (writeLock) {
+            Instant read = Instant.now();
+            revokedTokenRepository.findByRevokedAtAfter(lastRead.minus(POLL_OVERLAP)).stream()
+                    .filter(token -> token.getExpiresAt().isAfter(read))
+                    .forEach(token -> revocations.add(token.getTokenId(), token.getExpiresAt()));
+            growIfFull();
+            lastRead = read;
+        }
+    }
+
+    // Rebuilt larger once past its capacity, so the false positive rate stays near 1%. Callers hold writeLock.
+    private void growIfFull() {
+        if (revocations.isOverCapacity()) {
+            revocations = new RevocationList(revocations.entries(), expectedEntries);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revocation.refresh-ms:300000}",
+               initialDelayString = "${app.auth.revocation.refresh-ms:300000}")
+    @Transactional
+    public void refresh() {
+        int purged = revokedTokenRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired token revocations", purged);
+        }
+        reload();
+    }
+
+    private void reload() {
+        synchronized (writeLock) {
+            Instant read = Instant.now();
+            Map<String, Instant> entries = new HashMap<>();
+            revokedTokenRepository.findByExpiresAtAfter(read)
+                    .forEach(token -> entries.put(token.getTokenId(), token.getExpiresAt()));
+            revocations = new RevocationList(entries, expectedEntries);
+            lastRead = read;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.activos_tic.service;
+
+// Thrown when the export job queue is full; the client should retry later
+public class TooManyExportJobsException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TooManyExportJobsException(String message) {
+        super(message);
+    }
+}
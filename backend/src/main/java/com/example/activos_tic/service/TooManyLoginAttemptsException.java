@@ -0,0 +1,25 @@
+package com.example.activos_tic.service;
+
+// Thrown when a client IP or a username has used up its login attempts; the client should retry after retryAfterSeconds
+public class TooManyLoginAttemptsException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String scope;
+    private final long retryAfterSeconds;
+
+    public TooManyLoginAttemptsException(String scope, long retryAfterSeconds) {
+        super("Too many login attempts, try again in " + retryAfterSeconds + " seconds");
+        this.scope = scope;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    // "ip" or "username"
+    public String getScope() {
+        return scope;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.activos_tic.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The services' own fixed-size thread pools. Their threads are daemons named after the pool
+ * ("login-1", "export-sheet-2", ...) so they show up in thread dumps and never hold up shutdown;
+ * each service still shuts its pool down in its {@code @PreDestroy}.
+ */
+final class WorkerPools {
+
+    private WorkerPools() {
+    }
+
+    // The configured thread count, or half the cores (at least one) when it is 0
+    static int threadsOrHalfTheCores(int configured) {
+        return configured > 0 ? configured : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    // At most maxQueued tasks wait for a thread; past that, rejection decides
+    static ThreadPoolExecutor bounded(String name, int threads, int maxQueued, RejectedExecutionHandler rejection) {
+        return fixed(name, threads, new ArrayBlockingQueue<>(Math.max(1, maxQueued)), rejection);
+    }
+
+    // Every task waits for a thread, however many are queued
+    static ThreadPoolExecutor unbounded(String name, int threads) {
+        return fixed(name, threads, new LinkedBlockingQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static ThreadPoolExecutor fixed(String name, int threads, BlockingQueue<Runnable> queue,
+                                            RejectedExecutionHandler rejection) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, daemonThreads(name), rejection);
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
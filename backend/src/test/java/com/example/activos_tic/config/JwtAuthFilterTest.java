@@ -0,0 +1,81 @@
+package com.example.activos_tic.config;
+
+import com.example.activos_tic.domain.repository.UserRepository;
+import com.example.activos_tic.service.PrincipalCache;
+import com.example.activos_tic.service.TokenRevocationService;
+import com.example.activos_tic.service.UserDetailsImpl;
+import com.example.activos_tic.service.UserDetailsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// The principal of a request is built from the verified token's claims; the users table is not read
+class JwtAuthFilterTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret-test-secret-test-secret-1234";
+
+    private final AtomicInteger repositoryCalls = new AtomicInteger();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void principalComesFromClaimsWithoutLoadingTheUser() throws Exception {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 3_600_000, 100);
+        List<GrantedAuthority> roles = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
+        UserDetailsImpl user = new UserDetailsImpl(42L, "maria", "maria@example.com", null, roles);
+        String token = provider.generateJwtToken(new UsernamePasswordAuthenticationToken(user, null, roles));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        filter(provider).doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        UserDetailsImpl principal = (UserDetailsImpl) authentication.getPrincipal();
+        assertEquals(42L, principal.getId());
+        assertEquals("maria", principal.getUsername());
+        assertEquals("maria@example.com", principal.getEmail());
+        assertEquals(AuthorityUtils.authorityListToSet(roles), AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
+        assertEquals(0, repositoryCalls.get());
+    }
+
+    private JwtAuthFilter filter(JwtTokenProvider provider) {
+        // Any call on the repository is counted and fails the request's authentication
+        UserRepository users = (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    repositoryCalls.incrementAndGet();
+                    throw new IllegalStateException("users table read: " + method.getName());
+                });
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl();
+        ReflectionTestUtils.setField(userDetailsService, "userRepository", users);
+        PrincipalCache principalCache = new PrincipalCache(60, 100);
+        ReflectionTestUtils.setField(principalCache, "userDetailsService", userDetailsService);
+
+        JwtAuthFilter filter = new JwtAuthFilter();
+        ReflectionTestUtils.setField(filter, "tokenProvider", provider);
+        ReflectionTestUtils.setField(filter, "principalCache", principalCache);
+        // Nothing revoked; the revocation list starts empty and the repository is only read on reload
+        ReflectionTestUtils.setField(filter, "tokenRevocationService", new TokenRevocationService(null, 100));
+        ReflectionTestUtils.setField(filter, "principalFromToken", true);
+        return filter;
+    }
+}
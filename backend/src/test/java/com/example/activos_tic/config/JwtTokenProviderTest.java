@@ -0,0 +1,53 @@
+package com.example.activos_tic.config;
+
+import com.example.activos_tic.service.UserDetailsImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// A full verified-token cache makes room one entry at a time instead of starting over empty
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret-test-secret-test-secret-1234";
+    private static final int MAX_ENTRIES = 10;
+
+    @Test
+    void fullCacheEvictsSingleEntries() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 3_600_000, MAX_ENTRIES);
+        List<String> tokens = new ArrayList<>();
+        for (long id = 1; id <= 15; id++) {
+            tokens.add(provider.generateJwtToken(authentication(id)));
+        }
+
+        for (String token : tokens) {
+            assertNotNull(provider.verify(token));
+        }
+
+        // Clearing the map when full would leave 5 entries here
+        assertEquals(MAX_ENTRIES, verifiedTokens(provider).size());
+        // Still valid, whether served from the cache or verified again
+        for (String token : tokens) {
+            assertNotNull(provider.verify(token));
+        }
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(long id) {
+        List<GrantedAuthority> roles = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        UserDetailsImpl user = new UserDetailsImpl(id, "user" + id, "user" + id + "@example.com", null, roles);
+        return new UsernamePasswordAuthenticationToken(user, null, roles);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, JwtClaims> verifiedTokens(JwtTokenProvider provider) {
+        return (Map<String, JwtClaims>) ReflectionTestUtils.getField(provider, "verifiedTokens");
+    }
+}
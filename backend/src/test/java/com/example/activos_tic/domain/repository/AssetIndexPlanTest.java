@@ -0,0 +1,45 @@
+package com.example.activos_tic.domain.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// H2's plan for each filter and sort the list endpoints generate names the index declared for it on the entity
+@SpringBootTest
+class AssetIndexPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void hardwareFiltersUseTheirIndexes() {
+        assertUsesIndex("SELECT id FROM hardware WHERE type = 'Laptop' AND brand = 'Dell' ORDER BY id", "IDX_HARDWARE_TYPE_BRAND");
+        assertUsesIndex("SELECT id FROM hardware WHERE type = 'Laptop' ORDER BY id", "IDX_HARDWARE_TYPE_BRAND");
+        assertUsesIndex("SELECT id FROM hardware WHERE brand = 'Dell' ORDER BY id", "IDX_HARDWARE_BRAND");
+        assertUsesIndex("SELECT id FROM hardware WHERE location = 'Bogota' ORDER BY id", "IDX_HARDWARE_LOCATION");
+        assertUsesIndex("SELECT id FROM hardware WHERE employee_id IN (1, 2, 3)", "IDX_HARDWARE_EMPLOYEE");
+    }
+
+    @Test
+    void licenseFiltersUseTheirIndexes() {
+        assertUsesIndex("SELECT id FROM licenses WHERE software_name = 'Office' ORDER BY id", "IDX_LICENSES_SOFTWARE_NAME");
+        assertUsesIndex("SELECT id FROM licenses WHERE expiration_date BETWEEN DATE '2026-01-01' AND DATE '2026-12-31' ORDER BY id",
+                "IDX_LICENSES_EXPIRATION_DATE");
+    }
+
+    @Test
+    void employeeFilterAndSortUseTheirIndexes() {
+        assertUsesIndex("SELECT id FROM employees WHERE department = 'TI' ORDER BY id", "IDX_EMPLOYEES_DEPARTMENT");
+        // Keyset seek of the name sort, as AssetSpecifications.seekAfter writes it: (name, id) > ('Ana', 7)
+        assertUsesIndex("SELECT id, name FROM employees WHERE name >= 'Ana' AND (name > 'Ana' OR id > 7) ORDER BY name, id",
+                "IDX_EMPLOYEES_NAME");
+    }
+
+    private void assertUsesIndex(String sql, String index) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertTrue(plan != null && plan.toUpperCase().contains(index), "expected " + index + " in plan:\n" + plan);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.dto.EmployeeDto;
+import com.example.activos_tic.dto.HardwareDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Department actas are read page by page, and every document.xml must be valid XML with a table grid
+@SpringBootTest
+class ActaServiceTest {
+
+    private static final String WORDML = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    @Autowired
+    private ActaService actaService;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Test
+    void departmentZipHasEveryEmployeeAcrossBatches() throws Exception {
+        String department = "Actas" + System.nanoTime();
+        List<String> expected = new ArrayList<>();
+        // Two full batches and a partial one
+        for (int i = 0; i < 230; i++) {
+            EmployeeDto employee = assetService.createEmployee(new EmployeeDto(null, "Employee " + i, department, "Analyst"));
+            expected.add("acta_" + employee.getId() + "_Employee_" + i + ".docx");
+        }
+
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        actaService.writeDepartmentActas(department, zip);
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream entries = new ZipInputStream(new ByteArrayInputStream(zip.toByteArray()))) {
+            for (ZipEntry entry = entries.getNextEntry(); entry != null; entry = entries.getNextEntry()) {
+                names.add(entry.getName());
+            }
+        }
+        assertEquals(expected, names);
+    }
+
+    @Test
+    void documentXmlIsValidWithTableGrid() throws Exception {
+        // Control characters, a lone surrogate and U+FFFF cannot appear in XML 1.0
+        EmployeeDto employee = assetService.createEmployee(
+                new EmployeeDto(null, "Ana\u0001 L\uD800ó\uFFFFpez", "Legal", "Abogada"));
+        assetService.createHardware(new HardwareDto(null, "Laptop", "Dell\u0007", "SN-ACTA-1", "Bogota", employee.getId(), null));
+
+        Document document = parse(documentXml(actaService.generateActa(employee.getId())));
+
+        String text = document.getDocumentElement().getTextContent();
+        assertTrue(text.contains("Nombre: Ana López"), text);
+        assertTrue(text.contains("Dell"), text);
+        // The hardware table, with a grid of one column per header
+        assertEquals(1, document.getElementsByTagNameNS(WORDML, "tbl").getLength());
+        assertNotNull(document.getElementsByTagNameNS(WORDML, "tblGrid").item(0));
+        assertEquals(4, document.getElementsByTagNameNS(WORDML, "gridCol").getLength());
+    }
+
+    private static byte[] documentXml(byte[] docx) throws Exception {
+        try (ZipInputStream parts = new ZipInputStream(new ByteArrayInputStream(docx))) {
+            for (ZipEntry part = parts.getNextEntry(); part != null; part = parts.getNextEntry()) {
+                if (part.getName().equals("word/document.xml")) {
+                    return parts.readAllBytes();
+                }
+            }
+        }
+        throw new AssertionError("No word/document.xml in the acta");
+    }
+
+    private static Document parse(byte[] xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.dto.SearchResultDto;
+import com.example.activos_tic.service.AssetSearchIndex.Doc;
+import com.example.activos_tic.service.AssetSearchIndex.DocType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Fragments anywhere in a word match, whole words rank first, and assets match through their employee's name
+class AssetSearchIndexTest {
+
+    private static final long LOPEZ = 7;
+
+    private AssetSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AssetSearchIndex();
+        index.put(new Doc(DocType.EMPLOYEE, LOPEZ, "Maria Lopez", "TI", null, "Maria Lopez"));
+        index.put(hardware(1, "SN-4711-XZ", "Lenovo", LOPEZ));
+        index.put(hardware(2, "SN-0001-AB", "Dell", null));
+        index.put(new Doc(DocType.WEB_ACCESS, 3, "Portal", "https://intranet.example.com/portal", null,
+                "Portal", "https://intranet.example.com/portal"));
+    }
+
+    @Test
+    void fragmentsMatchSerialBrandAndUrl() {
+        assertEquals(List.of("HARDWARE:1"), keys(index.search("471", 10)));
+        assertEquals(List.of("HARDWARE:1"), keys(index.search("nov", 10)));
+        assertEquals(List.of("WEB_ACCESS:3"), keys(index.search("ranet", 10)));
+        // Every token must match, in any field
+        assertEquals(List.of("HARDWARE:1"), keys(index.search("xz lenovo", 10)));
+        assertTrue(index.search("xz dell", 10).isEmpty());
+    }
+
+    @Test
+    void wholeWordsRankAbovePrefixesAboveFragments() {
+        index.put(hardware(10, "SN-10", "Modell", null));
+        index.put(hardware(11, "SN-11", "Dellington", null));
+        index.put(hardware(12, "SN-12", "Dell", null));
+
+        List<SearchResultDto> results = index.search("dell", 10);
+
+        // Equal scores keep the older document first
+        assertEquals(List.of("HARDWARE:2", "HARDWARE:12", "HARDWARE:11", "HARDWARE:10"), keys(results));
+        assertEquals(List.of(3, 3, 2, 1), results.stream().map(SearchResultDto::getScore).toList());
+        assertEquals(List.of("HARDWARE:2", "HARDWARE:12"), keys(index.search("dell", 2)));
+    }
+
+    @Test
+    void assetsMatchThroughTheirEmployeesName() {
+        assertEquals(List.of("EMPLOYEE:7", "HARDWARE:1"), keys(index.search("lopez", 10)));
+        // Name and own text together: only the employee's Lenovo, not the employee nor the other hardware
+        List<SearchResultDto> results = index.search("lopez lenovo", 10);
+        assertEquals(List.of("HARDWARE:1"), keys(results));
+        assertEquals(LOPEZ, results.get(0).getAssignedEmployeeId());
+    }
+
+    @Test
+    void removedEmployeeIsNoLongerReportedOrMatched() {
+        index.remove(DocType.EMPLOYEE, LOPEZ);
+
+        List<SearchResultDto> results = index.search("lenovo", 10);
+        assertEquals(List.of("HARDWARE:1"), keys(results));
+        assertNull(results.get(0).getAssignedEmployeeId());
+        assertTrue(index.search("lopez", 10).isEmpty());
+    }
+
+    @Test
+    void replacedDocumentIsFoundByItsNewTextOnly() {
+        index.put(hardware(2, "SN-0001-AB", "HP", null));
+
+        assertTrue(index.search("dell", 10).isEmpty());
+        assertEquals(List.of("HARDWARE:2"), keys(index.search("hp", 10)));
+        assertEquals(4, index.size());
+    }
+
+    private static Doc hardware(long id, String serial, String brand, Long employeeId) {
+        return new Doc(DocType.HARDWARE, id, serial, "Laptop - " + brand, employeeId, serial, brand);
+    }
+
+    private static List<String> keys(List<SearchResultDto> results) {
+        return results.stream().map(r -> r.getType() + ":" + r.getId()).toList();
+    }
+}
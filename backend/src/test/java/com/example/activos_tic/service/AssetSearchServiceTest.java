@@ -0,0 +1,110 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.domain.model.Employee;
+import com.example.activos_tic.domain.model.Hardware;
+import com.example.activos_tic.dto.SearchResultDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The write hooks touch the index only once their transaction commits; a rolled back write leaves it as it was
+class AssetSearchServiceTest {
+
+    private final AssetSearchService search = new AssetSearchService();
+    private final TransactionTemplate transaction = new TransactionTemplate(new NoDatabaseTransactionManager());
+
+    @Test
+    void savedDocumentAppearsOnlyAfterCommit() {
+        transaction.executeWithoutResult(status -> {
+            search.hardwareSaved(hardware(1L, "SN-4711", "Lenovo", null));
+            assertTrue(search.search("lenovo", 10).isEmpty());
+        });
+
+        assertEquals(List.of(1L), ids(search.search("lenovo", 10)));
+    }
+
+    @Test
+    void rolledBackWritesChangeNothing() {
+        search.hardwareSaved(hardware(1L, "SN-4711", "Lenovo", null));
+
+        transaction.executeWithoutResult(status -> {
+            search.hardwareSaved(hardware(2L, "SN-0002", "Lenovo", null));
+            search.hardwareRemoved(1L);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of(1L), ids(search.search("lenovo", 10)));
+    }
+
+    @Test
+    void removalAppliesAfterCommit() {
+        search.hardwareSaved(hardware(1L, "SN-4711", "Lenovo", null));
+
+        transaction.executeWithoutResult(status -> {
+            search.hardwareRemoved(1L);
+            assertEquals(List.of(1L), ids(search.search("lenovo", 10)));
+        });
+
+        assertTrue(search.search("lenovo", 10).isEmpty());
+    }
+
+    @Test
+    void offboardedEmployeeIsNoLongerReportedOnAssets() {
+        Employee employee = new Employee();
+        employee.setId(7L);
+        employee.setName("Maria Lopez");
+        search.employeeSaved(employee);
+        search.hardwareSaved(hardware(1L, "SN-4711", "Lenovo", employee));
+        assertEquals(7L, search.search("lenovo", 10).get(0).getAssignedEmployeeId());
+
+        transaction.executeWithoutResult(status -> search.employeesRemoved(List.of(7L)));
+
+        List<SearchResultDto> results = search.search("lenovo", 10);
+        assertEquals(List.of(1L), ids(results));
+        assertNull(results.get(0).getAssignedEmployeeId());
+        assertTrue(search.search("maria", 10).isEmpty());
+    }
+
+    private static Hardware hardware(Long id, String serial, String brand, Employee employee) {
+        Hardware hardware = new Hardware();
+        hardware.setId(id);
+        hardware.setType("Laptop");
+        hardware.setSerialNumber(serial);
+        hardware.setBrand(brand);
+        hardware.setAssignedEmployee(employee);
+        return hardware;
+    }
+
+    private static List<Long> ids(List<SearchResultDto> results) {
+        return results.stream().map(SearchResultDto::getId).toList();
+    }
+
+    // Real transaction synchronization (afterCommit runs only on commit) without a database
+    private static final class NoDatabaseTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.domain.model.Hardware;
+import com.example.activos_tic.domain.repository.HardwareRepository;
+import com.example.activos_tic.dto.BulkItemResult;
+import com.example.activos_tic.dto.BulkResultDto;
+import com.example.activos_tic.dto.EmployeeDto;
+import com.example.activos_tic.dto.HardwareDto;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Every item gets its own result: invalid, duplicate and unknown-employee items fail alone, while a chunk the
+// database rejects is rolled back whole and the chunks around it still commit
+@SpringBootTest
+class AssetServiceBulkTest {
+
+    private static final int ITEMS = 2_050; // Three chunks
+    private static final int CLASH = 1_500; // In the second chunk
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private HardwareRepository hardwareRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Validator validator;
+    private String prefix;
+
+    @BeforeEach
+    void insertClashDuringValidation() {
+        prefix = "BULK-" + System.nanoTime() + "-";
+        validator = (Validator) ReflectionTestUtils.getField(assetService, "validator");
+        TransactionTemplate other = new TransactionTemplate(transactionManager);
+        other.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Another request stores the clashing serial between the chunk's checks and its insert
+        Object clashing = Proxy.newProxyInstance(Validator.class.getClassLoader(), new Class<?>[]{Validator.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("validate") && args[0] instanceof HardwareDto dto
+                            && dto.getSerialNumber().equals(serial(CLASH))) {
+                        other.executeWithoutResult(status -> hardwareRepository.save(hardware(serial(CLASH))));
+                    }
+                    try {
+                        return method.invoke(validator, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        ReflectionTestUtils.setField(assetService, "validator", clashing);
+    }
+
+    @AfterEach
+    void restoreValidator() {
+        ReflectionTestUtils.setField(assetService, "validator", validator);
+    }
+
+    @Test
+    void resultsArePerItemAndFailedChunksRollBack() {
+        Long employeeId = assetService.createEmployee(new EmployeeDto(null, "Bulk Owner", "TI", "Analyst")).getId();
+        Long existingId = assetService.createHardware(new HardwareDto(null, "Laptop", "Dell", prefix + "existing", "Bogota", null, null)).getId();
+        String taken = assetService.createHardware(new HardwareDto(null, "Laptop", "Dell", prefix + "taken", "Bogota", null, null)).getSerialNumber();
+
+        List<HardwareDto> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new HardwareDto(null, "Laptop", "Lenovo", serial(i), "Bogota", null, null));
+        }
+        items.get(1).setAssignedEmployeeId(employeeId);
+        items.get(2).setSerialNumber(serial(0)); // Duplicate inside the request
+        items.get(3).setAssignedEmployeeId(Long.MAX_VALUE); // Unknown employee
+        items.get(4).setSerialNumber(taken); // Serial of another row
+        items.get(5).setType(""); // Invalid
+        items.set(6, new HardwareDto(existingId, "Laptop", "HP", prefix + "existing", "Medellin", null, null));
+        items.get(2_010).setSerialNumber(serial(7)); // Created by the first chunk
+
+        BulkResultDto result = assetService.bulkUpsertHardware(items);
+
+        List<BulkItemResult> results = result.getItems();
+        assertEquals(ITEMS, result.getTotal());
+        assertEquals(BulkItemResult.CREATED, results.get(0).getStatus());
+        assertEquals(BulkItemResult.CREATED, results.get(1).getStatus());
+        assertFailed(results.get(2), "Duplicate serial number in request");
+        assertFailed(results.get(3), "Employee not found");
+        assertFailed(results.get(4), "Serial number already exists");
+        assertFailed(results.get(5), "Validation failed");
+        assertEquals(BulkItemResult.UPDATED, results.get(6).getStatus());
+        assertEquals(existingId, results.get(6).getId());
+        assertEquals("HP", hardwareRepository.findById(existingId).orElseThrow().getBrand());
+        for (int i = 1_000; i < 2_000; i++) {
+            assertFailed(results.get(i), "Chunk rolled back");
+        }
+        assertFailed(results.get(2_010), "Serial number already exists");
+        assertEquals(BulkItemResult.CREATED, results.get(2_011).getStatus());
+        for (int i = 0; i < ITEMS; i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+        // 2,050 items less 4 failed in the first chunk, the 1,000 of the second and 1 in the third
+        assertEquals(ITEMS - 4 - 1_000 - 1, result.getSucceeded());
+
+        // Nothing of the rolled back chunk was written, only the clashing row stored by the other request
+        List<String> secondChunk = items.subList(1_000, 2_000).stream().map(HardwareDto::getSerialNumber).collect(Collectors.toList());
+        List<Hardware> written = hardwareRepository.findBySerialNumberIn(secondChunk);
+        assertEquals(List.of(serial(CLASH)), written.stream().map(Hardware::getSerialNumber).toList());
+        assertTrue(hardwareRepository.findBySerialNumber(serial(0)).isPresent());
+        assertTrue(hardwareRepository.findBySerialNumber(serial(2_049)).isPresent());
+    }
+
+    private String serial(int i) {
+        return prefix + i;
+    }
+
+    private static void assertFailed(BulkItemResult result, String reason) {
+        assertEquals(BulkItemResult.FAILED, result.getStatus());
+        assertTrue(result.getMessage().startsWith(reason), result.getMessage());
+    }
+
+    private static Hardware hardware(String serial) {
+        Hardware hardware = new Hardware();
+        hardware.setType("Laptop");
+        hardware.setSerialNumber(serial);
+        return hardware;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.domain.model.User;
+import com.example.activos_tic.domain.repository.UserRepository;
+import com.example.activos_tic.dto.BulkItemResult;
+import com.example.activos_tic.dto.BulkResultDto;
+import com.example.activos_tic.dto.RegisterRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Failures stay with their items: a password that cannot be hashed or a chunk that rolls back does not stop the
+// rest of the request, and an item of a rolled back chunk is not held against later items
+@SpringBootTest
+class AuthServiceBulkTest {
+
+    private static final int USERS = 1_200; // Three chunks
+    private static final int FAILING = 700; // In the second chunk
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private PasswordEncoder encoder;
+
+    @BeforeEach
+    void cheapHashes() {
+        // Cheap hashes, failing for one password; BCrypt would make the test take minutes
+        encoder = (PasswordEncoder) ReflectionTestUtils.getField(authService, "passwordEncoder");
+        ReflectionTestUtils.setField(authService, "passwordEncoder", new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("fail-hash".contentEquals(rawPassword)) {
+                    throw new IllegalStateException("hash failed");
+                }
+                if ("register-clash".contentEquals(rawPassword) && userRepository.findByUsername("clash").isEmpty()) {
+                    // Another request registers one of the chunk's usernames while it is being hashed
+                    userRepository.save(user("clash"));
+                }
+                return "{noop}" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("{noop}" + rawPassword);
+            }
+        });
+    }
+
+    @AfterEach
+    void restoreEncoder() {
+        ReflectionTestUtils.setField(authService, "passwordEncoder", encoder);
+    }
+
+    @Test
+    void failedHashIsReportedPerItem() {
+        List<RegisterRequest> items = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            items.add(request("bulk" + i, i == FAILING ? "fail-hash" : "secret" + i));
+        }
+
+        BulkResultDto result = authService.registerUsers(items);
+
+        assertEquals(USERS, result.getTotal());
+        assertEquals(USERS - 1, result.getSucceeded());
+        for (BulkItemResult item : result.getItems()) {
+            if (item.getIndex() == FAILING) {
+                assertEquals(BulkItemResult.FAILED, item.getStatus());
+                assertTrue(item.getMessage().startsWith("Password hashing failed"), item.getMessage());
+            } else {
+                assertEquals(BulkItemResult.CREATED, item.getStatus(), item.getMessage());
+                assertNotNull(item.getId());
+            }
+        }
+    }
+
+    @Test
+    void itemOfRolledBackChunkIsTriedAgainLaterInTheRequest() {
+        List<RegisterRequest> items = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            items.add(request("retry" + i, "secret" + i));
+        }
+        // The first chunk rolls back: "clash" is taken between the check and the insert
+        items.set(1, request("clash", "register-clash"));
+        // The same user as item 0, whose chunk rolled back, so it was never created
+        items.add(request("retry0", "secret0"));
+
+        List<BulkItemResult> results = authService.registerUsers(items).getItems();
+
+        assertTrue(results.get(0).getMessage().startsWith("Chunk rolled back"), results.get(0).getMessage());
+        BulkItemResult retried = results.get(600);
+        assertEquals(BulkItemResult.CREATED, retried.getStatus(), retried.getMessage());
+    }
+
+    private static RegisterRequest request(String username, String password) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setPassword(password);
+        return request;
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("{noop}secret");
+        return user;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.dto.ChangeDto;
+import com.example.activos_tic.dto.HardwareDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A write committed after a watermark was handed out must be in the next call from that watermark
+@SpringBootTest
+class ChangeFeedServiceTest {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void longTransactionCommittedAfterWatermarkIsNotLost() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CompletableFuture<Long> slowWrite = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            HardwareDto hardware = assetService.createHardware(new HardwareDto(null, "Laptop", "Dell", "SN-SLOW", "Bogota", null, null));
+            written.countDown();
+            await(commit);
+            return hardware.getId();
+        }));
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+        // Well past the clock margin, so only the open transaction can hold the watermark back
+        Thread.sleep(1_500);
+
+        List<ChangeDto> before = changes(Instant.now().minus(Duration.ofHours(1)));
+        Instant watermark = watermarkOf(before);
+        commit.countDown();
+        Long id = slowWrite.get(10, TimeUnit.SECONDS);
+
+        assertFalse(containsHardware(before, id));
+        assertTrue(containsHardware(changes(watermark), id));
+    }
+
+    @Test
+    void watermarkFollowsTheClockWithoutOpenWrites() {
+        assetService.createHardware(new HardwareDto(null, "Monitor", "LG", "SN-IDLE", "Bogota", null, null));
+
+        Instant watermark = watermarkOf(changes(Instant.now().minus(Duration.ofHours(1))));
+
+        assertTrue(watermark.isAfter(Instant.now().minus(Duration.ofSeconds(5))), watermark.toString());
+    }
+
+    private List<ChangeDto> changes(Instant since) {
+        List<ChangeDto> changes = new ArrayList<>();
+        changeFeedService.streamChanges(since, changes::add);
+        return changes;
+    }
+
+    private static Instant watermarkOf(List<ChangeDto> changes) {
+        Instant watermark = changes.get(changes.size() - 1).getWatermark();
+        assertNotNull(watermark);
+        return watermark;
+    }
+
+    private static boolean containsHardware(List<ChangeDto> changes, Long id) {
+        return changes.stream().anyMatch(c -> ChangeDto.UPSERT.equals(c.getChange())
+                && "hardware".equals(c.getTable()) && id.equals(c.getId()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
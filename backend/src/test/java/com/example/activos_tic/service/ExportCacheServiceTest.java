@@ -0,0 +1,236 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.dto.ExportFilter;
+import com.example.activos_tic.dto.ExportJobDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A cached export evicted while it is being served stays on disk, and in the size budget, until its lease is closed;
+// stale and unused exports are swept, finished export jobs pin only a few files, and every job reports its rows
+class ExportCacheServiceTest {
+
+    private static final int FILE_BYTES = 100;
+
+    private ExportCacheService cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Room for one file only, so every new export evicts the previous one
+        cache = newCache(FILE_BYTES + FILE_BYTES / 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.clear();
+    }
+
+    @Test
+    void evictedFileStaysUntilLeaseIsClosed() throws IOException {
+        ExportCacheService.Lease first = cache.getOrCreate(1, department("Legal"), ExportService.ProgressListener.NONE);
+        Path firstPath = first.path();
+
+        ExportCacheService.Lease second = cache.getOrCreate(1, department("Finanzas"), ExportService.ProgressListener.NONE);
+        Path secondPath = second.path();
+        // Out of the cache, but still readable by the request that holds it
+        assertNull(cache.find(1, department("Legal")));
+        assertTrue(Files.exists(firstPath));
+        assertEquals(FILE_BYTES, Files.readAllBytes(firstPath).length);
+
+        first.close();
+        assertFalse(Files.exists(firstPath));
+        // Closing twice must not release someone else's pin
+        first.close();
+        assertTrue(Files.exists(secondPath));
+        second.close();
+
+        // Cached again once nothing pinned takes its room
+        cache.getOrCreate(1, department("Finanzas"), ExportService.ProgressListener.NONE).close();
+        try (ExportCacheService.Lease again = cache.find(1, department("Finanzas"))) {
+            assertNotNull(again);
+            assertTrue(Files.exists(again.path()));
+        }
+    }
+
+    @Test
+    void pinnedFilesCountAgainstTheBudget() throws IOException {
+        try (ExportCacheService.Lease first = cache.getOrCreate(1, department("Legal"), ExportService.ProgressListener.NONE)) {
+            Path second;
+            try (ExportCacheService.Lease lease = cache.getOrCreate(1, department("Finanzas"), ExportService.ProgressListener.NONE)) {
+                second = lease.path();
+                // The evicted first file is still on disk, so the second one has no room to stay cached
+                assertEquals(2 * FILE_BYTES, cache.totalBytes());
+                assertNull(cache.find(1, department("Finanzas")));
+            }
+            // Served, then deleted along with its lease
+            assertFalse(Files.exists(second));
+            assertEquals(FILE_BYTES, cache.totalBytes());
+            assertTrue(Files.exists(first.path()));
+        }
+        assertEquals(0, cache.totalBytes());
+    }
+
+    @Test
+    void onlyTheNewestFinishedJobsKeepTheirFiles() throws Exception {
+        ExportJobService jobs = new ExportJobService();
+        ReflectionTestUtils.setField(jobs, "exportCacheService", cache);
+        ReflectionTestUtils.setField(jobs, "dataVersionService", new DataVersionService());
+        try {
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i <= ExportJobService.MAX_JOBS_WITH_FILE; i++) {
+                String id = jobs.submit(department("Departamento " + i)).getId();
+                awaitDone(jobs, id);
+                ids.add(id);
+            }
+
+            // The first job let go of its file when the last one finished; the others still pin theirs
+            assertFalse(jobs.hasFile(ids.get(0)));
+            assertNull(jobs.openFile(ids.get(0)));
+            for (String id : ids.subList(1, ids.size())) {
+                assertTrue(jobs.hasFile(id));
+            }
+            assertEquals(ExportJobService.MAX_JOBS_WITH_FILE * FILE_BYTES, cache.totalBytes());
+        } finally {
+            jobs.shutdown();
+        }
+        assertEquals(0, cache.totalBytes());
+    }
+
+    @Test
+    void cachedAndAwaitedJobsReportTheRowsOfTheirExport() throws Exception {
+        CountDownLatch generating = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExportCacheService slowCache = new ExportCacheService(10 * FILE_BYTES, 60);
+        ReflectionTestUtils.setField(slowCache, "exportService", new ExportService(null) {
+            @Override
+            public void writeAllDataToExcel(OutputStream out, ExportFilter filter, ProgressListener progress) throws IOException {
+                generating.countDown();
+                try {
+                    assertTrue(finish.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                progress.rowsWritten("Employees", 3);
+                progress.rowsWritten("Hardware", 5);
+                out.write(new byte[FILE_BYTES]);
+            }
+        });
+        ExportJobService jobs = new ExportJobService();
+        ReflectionTestUtils.setField(jobs, "exportCacheService", slowCache);
+        ReflectionTestUtils.setField(jobs, "dataVersionService", new DataVersionService());
+        try {
+            String generated = jobs.submit(department("Legal")).getId();
+            assertTrue(generating.await(10, TimeUnit.SECONDS));
+            // Waits for the same export on the second worker
+            String awaited = jobs.submit(department("Legal")).getId();
+            while (!ExportJobDto.RUNNING.equals(jobs.getJob(awaited).getStatus())) {
+                Thread.sleep(10);
+            }
+            finish.countDown();
+            awaitDone(jobs, generated);
+            awaitDone(jobs, awaited);
+            String cached = jobs.submit(department("Legal")).getId();
+            awaitDone(jobs, cached);
+
+            for (String id : List.of(generated, awaited, cached)) {
+                assertEquals(Map.of("Employees", 3L, "Hardware", 5L), jobs.getJob(id).getRowsWritten(), id);
+            }
+        } finally {
+            jobs.shutdown();
+            slowCache.clear();
+        }
+    }
+
+    @Test
+    void unleasedFileIsDeletedOnEviction() throws IOException {
+        Path firstPath;
+        try (ExportCacheService.Lease first = cache.getOrCreate(1, department("Legal"), ExportService.ProgressListener.NONE)) {
+            firstPath = first.path();
+        }
+        cache.getOrCreate(1, department("Finanzas"), ExportService.ProgressListener.NONE).close();
+
+        assertFalse(Files.exists(firstPath));
+    }
+
+    @Test
+    void sweepDropsOlderVersionsAndUnusedFiles() throws IOException {
+        cache.clear();
+        cache = newCache(10 * FILE_BYTES);
+        Path old;
+        try (ExportCacheService.Lease lease = cache.getOrCreate(1, department("Legal"), ExportService.ProgressListener.NONE)) {
+            old = lease.path();
+        }
+        Path current;
+        try (ExportCacheService.Lease lease = cache.getOrCreate(2, department("Legal"), ExportService.ProgressListener.NONE)) {
+            current = lease.path();
+        }
+
+        // Version 1 can never be hit again once the data is at version 2
+        cache.removeExpired(Instant.now(), 2);
+        assertNull(cache.find(1, department("Legal")));
+        assertFalse(Files.exists(old));
+        assertTrue(Files.exists(current));
+
+        // Past the TTL the current version goes too
+        cache.removeExpired(Instant.now().plus(Duration.ofMinutes(61)), 2);
+        assertNull(cache.find(2, department("Legal")));
+        assertFalse(Files.exists(current));
+    }
+
+    @Test
+    void sweptFileStaysWhileLeased() throws IOException {
+        try (ExportCacheService.Lease lease = cache.getOrCreate(1, department("Legal"), ExportService.ProgressListener.NONE)) {
+            // An export job keeps its own copy of the lease
+            ExportCacheService.Lease job = lease.copy();
+            cache.removeExpired(Instant.now(), 2);
+            assertTrue(Files.exists(job.path()));
+            job.close();
+            assertTrue(Files.exists(lease.path()));
+        }
+    }
+
+    private static void awaitDone(ExportJobService jobs, String id) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!ExportJobDto.DONE.equals(jobs.getJob(id).getStatus())) {
+            assertTrue(System.nanoTime() < deadline, "Export job " + id + " did not finish");
+            Thread.sleep(10);
+        }
+    }
+
+    // Exports of FILE_BYTES bytes, expiring after 60 minutes unused
+    private static ExportCacheService newCache(long maxBytes) throws IOException {
+        ExportCacheService cache = new ExportCacheService(maxBytes, 60);
+        ReflectionTestUtils.setField(cache, "exportService", new ExportService(null) {
+            @Override
+            public void writeAllDataToExcel(OutputStream out, ExportFilter filter, ProgressListener progress) throws IOException {
+                out.write(new byte[FILE_BYTES]);
+            }
+        });
+        return cache;
+    }
+
+    private static ExportFilter department(String department) {
+        ExportFilter filter = new ExportFilter();
+        filter.setDepartment(department);
+        return filter;
+    }
+}
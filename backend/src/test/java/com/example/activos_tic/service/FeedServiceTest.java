@@ -0,0 +1,102 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.controller.FeedController;
+import com.example.activos_tic.dto.EmployeeDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The feed is read by analitica with pandas.read_csv: RFC 4180 quoting, the columns its loaders expect, and the
+// same bytes whether served plain, gzip-compressed or zipped in the snapshot
+@SpringBootTest
+class FeedServiceTest {
+
+    // File and column names read by analitica/database.py, in the order written
+    private static final Map<String, String> HEADERS = new LinkedHashMap<>();
+
+    static {
+        HEADERS.put("employees", "id,name,department,position");
+        HEADERS.put("hardware", "id,type,brand,serial_number,location,employee_id");
+        HEADERS.put("licenses", "id,software_name,license_key,purchase_date,expiration_date,employee_id");
+        HEADERS.put("web_accesses", "id,service_name,url,access_username,employee_id");
+        HEADERS.put("users", "id,username,email");
+        HEADERS.put("roles", "id,name");
+        HEADERS.put("user_roles", "user_id,role_id");
+    }
+
+    @Autowired
+    private FeedService feedService;
+
+    @Autowired
+    private FeedController feedController;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Test
+    void fieldsWithCommasQuotesAndLineBreaksAreQuoted() throws IOException {
+        Long id = assetService.createEmployee(new EmployeeDto(null, "Lopez, \"Mary\"\nJr", "TI", null)).getId();
+
+        String csv = csv("employees");
+
+        // Quotes doubled inside a quoted field; a null position is an empty field
+        assertTrue(csv.contains("\n" + id + ",\"Lopez, \"\"Mary\"\"\nJr\",TI,\n"), csv);
+    }
+
+    @Test
+    void everyTableStartsWithTheColumnsAnaliticaReads() throws IOException {
+        for (Map.Entry<String, String> table : HEADERS.entrySet()) {
+            assertEquals(table.getValue(), firstLine(csv(table.getKey())), table.getKey());
+        }
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN") // The feed endpoints are admin-only
+    void gzipAndSnapshotCarryTheSameCsv() throws IOException {
+        assetService.createEmployee(new EmployeeDto(null, "Gómez, Ana", "Finanzas", "Analyst"));
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        feedController.getTableCsvGzip("employees").getBody().writeTo(gzipped);
+        String gunzipped = new String(new GZIPInputStream(new ByteArrayInputStream(gzipped.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertEquals(csv("employees"), gunzipped);
+
+        ByteArrayOutputStream zipped = new ByteArrayOutputStream();
+        feedService.writeSnapshot(zipped);
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(zipped.toByteArray()), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                String table = entry.getName().replace(".csv", "");
+                entries.add(table);
+                assertEquals(csv(table), new String(zip.readAllBytes(), StandardCharsets.UTF_8), entry.getName());
+            }
+        }
+        assertEquals(List.copyOf(HEADERS.keySet()), entries);
+    }
+
+    private String csv(String table) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        feedService.writeCsv(table, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String firstLine(String csv) {
+        return csv.substring(0, csv.indexOf('\n'));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.dto.EmployeeDto;
+import com.example.activos_tic.dto.ExportFilter;
+import com.example.activos_tic.dto.HardwareDto;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A filter is the WHERE clause of each sheet's query, so only matching rows are read, and sheets without a
+// matching row are left out of the workbook
+@SpringBootTest
+class FilteredExportTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Test
+    void onlyMatchingRowsAreReadAndEmptySheetsAreSkipped() throws Exception {
+        String department = "Export" + System.nanoTime();
+        Long inDepartment = assetService.createEmployee(new EmployeeDto(null, "Filtered", department, "Analyst")).getId();
+        Long elsewhere = assetService.createEmployee(new EmployeeDto(null, "Other", department + "-other", "Analyst")).getId();
+        Long laptop = assetService.createHardware(new HardwareDto(null, "Laptop", "Dell", "EXP-" + inDepartment, "Bogota", inDepartment, null)).getId();
+        assetService.createHardware(new HardwareDto(null, "Laptop", "Dell", "EXP-" + elsewhere, "Bogota", elsewhere, null));
+        ExportFilter filter = new ExportFilter();
+        filter.setDepartment(department);
+
+        // Every row a sheet's query returns is written, so the counts are the rows read from the database
+        Map<String, Long> rowsRead = new ConcurrentHashMap<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeAllDataToExcel(out, filter, rowsRead::put);
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            // Nobody in the department has a license or a web access
+            List<String> sheets = new ArrayList<>();
+            workbook.forEach(sheet -> sheets.add(sheet.getSheetName()));
+            assertEquals(List.of("Employees", "Hardware"), sheets);
+            assertEquals(Map.of("Employees", 1L, "Hardware", 1L), rowsRead);
+
+            Sheet hardware = workbook.getSheet("Hardware");
+            assertEquals(1, hardware.getLastRowNum());
+            assertEquals(laptop, (long) hardware.getRow(1).getCell(0).getNumericCellValue());
+            assertEquals(inDepartment, (long) workbook.getSheet("Employees").getRow(1).getCell(0).getNumericCellValue());
+        }
+    }
+}
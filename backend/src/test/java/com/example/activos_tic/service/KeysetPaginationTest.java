@@ -0,0 +1,80 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.dto.CursorPage;
+import com.example.activos_tic.dto.EmployeeDto;
+import com.example.activos_tic.dto.EmployeeFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// The next-page cursor carries the (sort value, id) of the last row, so changes to that row between pages do not break paging
+@SpringBootTest
+class KeysetPaginationTest {
+
+    private static final String DEPARTMENT = "Paging";
+
+    @Autowired
+    private AssetService assetService;
+
+    private EmployeeFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // Each test gets its own department, so the rows of other tests are filtered out
+        filter = new EmployeeFilter();
+        filter.setDepartment(DEPARTMENT + System.nanoTime());
+        for (String name : List.of("Ana", "Beto", "Carla", "Dario", "Elena", "Fabio")) {
+            assetService.createEmployee(new EmployeeDto(null, name, filter.getDepartment(), "Analyst"));
+        }
+    }
+
+    @Test
+    void nextPageSurvivesDeletionOfLastRow() {
+        CursorPage<EmployeeDto> first = page(null);
+        assertEquals(List.of("Ana", "Beto"), names(first));
+
+        assetService.deleteEmployee(first.getItems().get(1).getId());
+
+        assertEquals(List.of("Carla", "Dario"), names(page(first.getNextCursor())));
+    }
+
+    @Test
+    void nextPageIgnoresEditsToLastRow() {
+        CursorPage<EmployeeDto> first = page(null);
+        EmployeeDto last = first.getItems().get(1);
+
+        // Moving the row to the front would make a lookup of its current value repeat Beto..., moving it to the end would skip rows
+        last.setName("Aaron");
+        assetService.updateEmployee(last.getId(), last);
+
+        CursorPage<EmployeeDto> second = page(first.getNextCursor());
+        assertEquals(List.of("Carla", "Dario"), names(second));
+        CursorPage<EmployeeDto> third = page(second.getNextCursor());
+        assertEquals(List.of("Elena", "Fabio"), names(third));
+        assertNull(third.getNextCursor());
+    }
+
+    @Test
+    void cursorFromAnotherSortIsRejected() {
+        CursorPage<EmployeeDto> byName = page(null);
+        assertThrows(IllegalArgumentException.class,
+                () -> assetService.getAllEmployees(filter, "id", byName.getNextCursor(), 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> assetService.getAllEmployees(filter, "name", "not a cursor", 2));
+    }
+
+    private CursorPage<EmployeeDto> page(String after) {
+        return assetService.getAllEmployees(filter, "name", after, 2);
+    }
+
+    private static List<String> names(CursorPage<EmployeeDto> page) {
+        return page.getItems().stream().map(EmployeeDto::getName).toList();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.dto.EmployeeDto;
+import com.example.activos_tic.dto.EmployeeFilter;
+import com.example.activos_tic.dto.HardwareDto;
+import com.example.activos_tic.dto.HardwareFilter;
+import com.example.activos_tic.dto.LicenseDto;
+import com.example.activos_tic.dto.LicenseFilter;
+import com.example.activos_tic.dto.WebAccessDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The list and export paths must issue a fixed number of statements, however many rows and assigned employees there are (no N+1)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ListQueryCountTest {
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> employeeIds = new ArrayList<>();
+    private int seeded;
+
+    @Test
+    void statementCountDoesNotGrowWithRows() {
+        seed(3);
+        Map<String, Long> few = statementCounts();
+        seed(60);
+        Map<String, Long> many = statementCounts();
+
+        assertEquals(few, many);
+        // One SELECT per list page or per-employee table, whatever the number of employees joined
+        assertEquals(1L, many.get("hardware page"));
+        assertEquals(1L, many.get("license page"));
+        assertEquals(1L, many.get("web access page"));
+        assertEquals(1L, many.get("employee page"));
+        assertEquals(1L, many.get("hardware stream"));
+        assertEquals(1L, many.get("license stream"));
+        assertEquals(4L, many.get("employee assets"));
+        assertTrue(many.get("excel export") <= 4, "one query per sheet, got " + many.get("excel export"));
+    }
+
+    private Map<String, Long> statementCounts() {
+        Long employeeId = employeeIds.get(0);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("hardware page", statements(() -> assetService.getAllHardware(new HardwareFilter(), null, null, AssetService.MAX_PAGE_SIZE)));
+        counts.put("license page", statements(() -> assetService.getAllLicenses(new LicenseFilter(), null, null, AssetService.MAX_PAGE_SIZE)));
+        counts.put("web access page", statements(() -> assetService.getAllWebAccesses(null, null, AssetService.MAX_PAGE_SIZE)));
+        counts.put("employee page", statements(() -> assetService.getAllEmployees(new EmployeeFilter(), null, null, AssetService.MAX_PAGE_SIZE)));
+        counts.put("hardware stream", statements(() -> assetService.streamAllHardware(row -> { })));
+        counts.put("license stream", statements(() -> assetService.streamAllLicenses(row -> { })));
+        counts.put("employee assets", statements(() -> assetService.getAssetsForEmployee(employeeId)));
+        counts.put("excel export", statements(() -> {
+            try {
+                exportService.writeAllDataToExcel(OutputStream.nullOutputStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        return counts;
+    }
+
+    private long statements(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Adds employees, each with a hardware item, a license and a web access assigned to it
+    private void seed(int employees) {
+        for (int i = 0; i < employees; i++) {
+            int n = seeded++;
+            EmployeeDto employee = assetService.createEmployee(new EmployeeDto(null, "Employee " + n, "TI", "Analyst"));
+            employeeIds.add(employee.getId());
+            // The first employee gets more assets with every seed, so its own lists grow too
+            Long owner = n % 2 == 0 ? employeeIds.get(0) : employee.getId();
+            assetService.createHardware(new HardwareDto(null, "Laptop", "Brand", "SN-" + n, "Office", owner, null));
+            assetService.createLicense(new LicenseDto(null, "Office", "KEY-" + n, null, null, owner, null));
+            assetService.createWebAccess(new WebAccessDto(null, "https://app/" + n, "App", "user" + n, "secret", owner, null));
+        }
+    }
+}
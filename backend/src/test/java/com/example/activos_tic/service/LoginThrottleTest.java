@@ -0,0 +1,60 @@
+package com.example.activos_tic.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Usernames drained by an attacker must not throttle the other users they happen to hash next to
+class LoginThrottleTest {
+
+    @Test
+    void usernameBucketLimitsItsOwnAttempts() {
+        LoginThrottle throttle = new LoginThrottle(0, 0, 5, 10);
+        for (int i = 0; i < 5; i++) {
+            throttle.acquire("10.0.0.1", "Alice");
+        }
+        // Case does not open a fresh bucket
+        assertThrows(TooManyLoginAttemptsException.class, () -> throttle.acquire("10.0.0.1", "alice"));
+        throttle.acquire("10.0.0.1", "bob");
+    }
+
+    @Test
+    void lockedOutUsernameDoesNotDrainTheAddress() {
+        LoginThrottle throttle = new LoginThrottle(10, 10, 1, 1);
+        throttle.acquire("10.0.0.1", "alice");
+        // Rejected by the username bucket, so the office's address keeps its budget
+        for (int i = 0; i < 50; i++) {
+            assertThrows(TooManyLoginAttemptsException.class, () -> throttle.acquire("10.0.0.1", "alice"));
+        }
+        for (int user = 0; user < 9; user++) {
+            throttle.acquire("10.0.0.1", "colleague" + user);
+        }
+        assertThrows(TooManyLoginAttemptsException.class, () -> throttle.acquire("10.0.0.1", "one-too-many"));
+    }
+
+    @Test
+    void throttledUsernamesLeaveOthersAlone() {
+        LoginThrottle throttle = new LoginThrottle(0, 0, 5, 10);
+        for (int user = 0; user < 1_000; user++) {
+            for (int i = 0; i < 5; i++) {
+                try {
+                    throttle.acquire("10.0.0.1", "target" + user);
+                } catch (TooManyLoginAttemptsException e) {
+                    // A target sharing both stripes with earlier ones is throttled early, which is allowed
+                }
+            }
+        }
+
+        int blocked = 0;
+        for (int user = 0; user < 1_000; user++) {
+            try {
+                throttle.acquire("10.0.0.2", "other" + user);
+            } catch (TooManyLoginAttemptsException e) {
+                blocked++;
+            }
+        }
+        // About 1 expected; a single hash over 4096 stripes blocked about 200
+        assertTrue(blocked <= 10, blocked + " of 1000 unrelated usernames throttled");
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.domain.model.DeletedRecord;
+import com.example.activos_tic.domain.repository.DeletedRecordRepository;
+import com.example.activos_tic.dto.EmployeeDto;
+import com.example.activos_tic.dto.HardwareDto;
+import com.example.activos_tic.dto.LicenseDto;
+import com.example.activos_tic.dto.OffboardResultDto;
+import com.example.activos_tic.dto.WebAccessDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Offboarding deletes the employees but keeps their assets, unassigned, reports unknown ids and leaves a
+// tombstone per employee, with the same few statements however many employees and assets there are
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OffboardEmployeesTest {
+
+    // One existence query, three UPDATEs, one DELETE and one batched tombstone INSERT
+    private static final long STATEMENTS = 6;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private DeletedRecordRepository deletedRecordRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private int seeded;
+
+    @Test
+    void assetsSurviveUnassignedAndTombstonesAreWritten() {
+        List<Long> employees = new ArrayList<>();
+        List<Long> hardware = new ArrayList<>();
+        List<Long> licenses = new ArrayList<>();
+        List<Long> webAccesses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Long employee = employee();
+            employees.add(employee);
+            hardware.add(hardwareOf(employee));
+            licenses.add(licenseOf(employee));
+            webAccesses.add(webAccessOf(employee));
+        }
+        Long kept = employee();
+        Long keptHardware = hardwareOf(kept);
+        List<Long> requested = new ArrayList<>(employees);
+        requested.addAll(Arrays.asList(Long.MAX_VALUE, null, employees.get(0)));
+
+        OffboardResultDto result = assetService.offboardEmployees(requested);
+
+        assertEquals(3, result.getDeletedEmployees());
+        assertEquals(List.of(Long.MAX_VALUE), result.getNotFoundIds());
+        assertEquals(3, result.getUnassignedHardware());
+        assertEquals(3, result.getUnassignedLicenses());
+        assertEquals(3, result.getUnassignedWebAccesses());
+        hardware.forEach(id -> assertNull(assetService.getHardwareById(id).getAssignedEmployeeId()));
+        licenses.forEach(id -> assertNull(assetService.getLicenseById(id).getAssignedEmployeeId()));
+        webAccesses.forEach(id -> assertNull(assetService.getWebAccessById(id).getAssignedEmployeeId()));
+        assertEquals(kept, assetService.getHardwareById(keptHardware).getAssignedEmployeeId());
+        assertEquals(new HashSet<>(employees), tombstonedEmployees(employees));
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithEmployeesOrAssets() {
+        // The tombstone sequence hands out its first block here, so it is not counted below
+        assetService.offboardEmployees(List.of(employee()));
+
+        long few = statements(seed(2, 1));
+        long many = statements(seed(40, 10));
+
+        // Plus one sequence call when the tombstones cross into the next block of ids
+        assertTrue(few == STATEMENTS || few == STATEMENTS + 1, "few: " + few);
+        assertTrue(many == STATEMENTS || many == STATEMENTS + 1, "many: " + many);
+    }
+
+    private long statements(List<Long> employees) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        OffboardResultDto result = assetService.offboardEmployees(employees);
+        assertEquals(employees.size(), result.getDeletedEmployees());
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Employees with the given number of each asset type
+    private List<Long> seed(int employees, int assetsEach) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < employees; i++) {
+            Long employee = employee();
+            for (int a = 0; a < assetsEach; a++) {
+                hardwareOf(employee);
+                licenseOf(employee);
+                webAccessOf(employee);
+            }
+            ids.add(employee);
+        }
+        return ids;
+    }
+
+    private Set<Long> tombstonedEmployees(List<Long> ids) {
+        return deletedRecordRepository.findAll().stream()
+                .filter(d -> "employees".equals(d.getTableName()) && ids.contains(d.getRecordId()))
+                .map(DeletedRecord::getRecordId)
+                .collect(Collectors.toSet());
+    }
+
+    private Long employee() {
+        return assetService.createEmployee(new EmployeeDto(null, "Offboarded " + seeded++, "TI", "Analyst")).getId();
+    }
+
+    private Long hardwareOf(Long employee) {
+        String serial = "OFF-" + System.nanoTime() + "-" + seeded++;
+        return assetService.createHardware(new HardwareDto(null, "Laptop", "Dell", serial, "Bogota", employee, null)).getId();
+    }
+
+    private Long licenseOf(Long employee) {
+        String key = "OFF-KEY-" + System.nanoTime() + "-" + seeded++;
+        return assetService.createLicense(new LicenseDto(null, "Office", key, null, null, employee, null)).getId();
+    }
+
+    private Long webAccessOf(Long employee) {
+        int n = seeded++;
+        return assetService.createWebAccess(new WebAccessDto(null, "https://app/" + n, "App", "user" + n, "secret", employee, null)).getId();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.activos_tic.service;
+
+import com.example.activos_tic.config.JwtClaims;
+import com.example.activos_tic.domain.model.RevokedToken;
+import com.example.activos_tic.domain.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A logout stored by another instance is rejected here after the next poll, without waiting for the full reload
+@SpringBootTest
+class TokenRevocationServiceTest {
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Test
+    void pollPicksUpOtherInstancesLogouts() {
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+        JwtClaims claims = new JwtClaims(UUID.randomUUID().toString(), "ana", 1L, "ana@example.com", List.of("ROLE_USER"), expiresAt);
+        // Stored straight in the table, as another instance's revoke() does
+        revokedTokenRepository.save(new RevokedToken(claims.tokenId(), expiresAt, Instant.now()));
+        assertFalse(tokenRevocationService.isRevoked(claims));
+
+        tokenRevocationService.poll();
+
+        assertTrue(tokenRevocationService.isRevoked(claims));
+    }
+
+    @Test
+    void pollSkipsExpiredRevocations() {
+        Instant expiresAt = Instant.now().minus(Duration.ofMinutes(1));
+        JwtClaims claims = new JwtClaims(UUID.randomUUID().toString(), "luis", 2L, "luis@example.com", List.of("ROLE_USER"), expiresAt);
+        revokedTokenRepository.save(new RevokedToken(claims.tokenId(), expiresAt, Instant.now()));
+
+        tokenRevocationService.poll();
+
+        assertFalse(tokenRevocationService.isRevoked(claims));
+    }
+}
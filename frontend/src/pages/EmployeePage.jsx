@@ -10,15 +10,18 @@ const EmployeePage = () => {
     const [editingEmployee, setEditingEmployee] = useState(null); // null for new, employee object for editing
     const [error, setError] = useState('');
     const [loading, setLoading] = useState(false);
+    const [nextCursor, setNextCursor] = useState(null); // Opaque cursor to pass as ?after= for the next page
 
     const { register, handleSubmit, reset, setValue, formState: { errors: formErrors } } = useForm();
 
-    const fetchEmployees = useCallback(async () => {
-        setLoading(true);
+    const fetchEmployees = useCallback(async (after) => {
+        if (!after) setLoading(true); // Keep the current rows visible while loading more
         setError('');
         try {
-            const response = await AssetService.getAllEmployees();
-            setEmployees(response.data);
+            const response = await AssetService.getAllEmployees({ after });
+            const page = response.data;
+            setEmployees(prev => (after ? [...prev, ...page.items] : page.items));
+            setNextCursor(page.nextCursor);
         } catch (err) {
             setError('Failed to fetch employees. ' + (err.response?.data?.message || err.message));
             console.error(err);
@@ -133,6 +136,14 @@ const EmployeePage = () => {
                 </Table>
             )}
 
+            {!loading && nextCursor && (
+                <div className="text-center mb-3">
+                    <Button variant="outline-primary" onClick={() => fetchEmployees(nextCursor)}>
+                        Load more
+                    </Button>
+                </div>
+            )}
+
             <Modal show={showModal} onHide={handleCloseModal} backdrop="static" keyboard={false}>
                 <Modal.Header closeButton>
                     <Modal.Title>{editingEmployee ? 'Edit Employee' : 'Add New Employee'}</Modal.Title>
@@ -10,18 +10,21 @@ const HardwarePage = () => {
     const [editingHardware, setEditingHardware] = useState(null);
     const [error, setError] = useState('');
     const [loading, setLoading] = useState(false);
+    const [nextCursor, setNextCursor] = useState(null); // Opaque cursor to pass as ?after= for the next page
 
     // TODO: For future enhancement: Fetch employees for a dropdown
     // const [employees, setEmployees] = useState([]);
 
     const { register, handleSubmit, reset, setValue, formState: { errors: formErrors } } = useForm();
 
-    const fetchHardwareItems = useCallback(async () => {
-        setLoading(true);
+    const fetchHardwareItems = useCallback(async (after) => {
+        if (!after) setLoading(true); // Keep the current rows visible while loading more
         setError('');
         try {
-            const response = await AssetService.getAllHardware();
-            setHardwareList(response.data);
+            const response = await AssetService.getAllHardware({ after });
+            const page = response.data;
+            setHardwareList(prev => (after ? [...prev, ...page.items] : page.items));
+            setNextCursor(page.nextCursor);
         } catch (err) {
             setError('Failed to fetch hardware items. ' + (err.response?.data?.message || err.message));
             console.error(err);
@@ -160,6 +163,14 @@ const HardwarePage = () => {
                 </Table>
             )}
 
+            {!loading && nextCursor && (
+                <div className="text-center mb-3">
+                    <Button variant="outline-primary" onClick={() => fetchHardwareItems(nextCursor)}>
+                        Load more
+                    </Button>
+                </div>
+            )}
+
             <Modal show={showModal} onHide={handleCloseModal} backdrop="static" keyboard={false}>
                 <Modal.Header closeButton>
                     <Modal.Title>{editingHardware ? 'Edit Hardware' : 'Add New Hardware'}</Modal.Title>
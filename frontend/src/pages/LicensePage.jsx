@@ -10,16 +10,19 @@ const LicensePage = () => {
     const [editingLicense, setEditingLicense] = useState(null);
     const [error, setError] = useState('');
     const [loading, setLoading] = useState(false);
+    const [nextCursor, setNextCursor] = useState(null); // Opaque cursor to pass as ?after= for the next page
     // const [employees, setEmployees] = useState([]); // For employee dropdown
 
     const { register, handleSubmit, reset, setValue, formState: { errors: formErrors } } = useForm();
 
-    const fetchLicenses = useCallback(async () => {
-        setLoading(true);
+    const fetchLicenses = useCallback(async (after) => {
+        if (!after) setLoading(true); // Keep the current rows visible while loading more
         setError('');
         try {
-            const response = await AssetService.getAllLicenses();
-            setLicenses(response.data);
+            const response = await AssetService.getAllLicenses({ after });
+            const page = response.data;
+            setLicenses(prev => (after ? [...prev, ...page.items] : page.items));
+            setNextCursor(page.nextCursor);
         } catch (err) {
             setError('Failed to fetch licenses. ' + (err.response?.data?.message || err.message));
             console.error(err);
@@ -158,6 +161,14 @@ const LicensePage = () => {
                 </Table>
             )}
 
+            {!loading && nextCursor && (
+                <div className="text-center mb-3">
+                    <Button variant="outline-primary" onClick={() => fetchLicenses(nextCursor)}>
+                        Load more
+                    </Button>
+                </div>
+            )}
+
             <Modal show={showModal} onHide={handleCloseModal} backdrop="static" keyboard={false}>
                 <Modal.Header closeButton>
                     <Modal.Title>{editingLicense ? 'Edit License' : 'Add New License'}</Modal.Title>
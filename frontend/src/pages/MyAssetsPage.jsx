@@ -26,14 +26,11 @@ const MyAssetsPage = () => {
         setLoading(true);
         setError('');
         try {
-            const [hardwareRes, licensesRes, webAccessesRes] = await Promise.all([
-                AssetService.getAllHardware(),
-                AssetService.getAllLicenses(),
-                AssetService.getAllWebAccesses()
-            ]);
-            setAssignedHardware(hardwareRes.data.filter(item => item.assignedEmployeeId === employeeIdToFilterBy));
-            setAssignedLicenses(licensesRes.data.filter(item => item.assignedEmployeeId === employeeIdToFilterBy));
-            setAssignedWebAccesses(webAccessesRes.data.filter(item => item.assignedEmployeeId === employeeIdToFilterBy));
+            // The backend returns only the assets assigned to the logged-in user
+            const response = await AssetService.getMyAssets();
+            setAssignedHardware(response.data.hardware);
+            setAssignedLicenses(response.data.licenses);
+            setAssignedWebAccesses(response.data.webAccesses);
         } catch (err) {
             setError('Failed to fetch assigned assets. ' + (err.response?.data?.message || err.message));
             // console.error(err); // Already logged in assetService or caught globally
@@ -10,16 +10,19 @@ const WebAccessPage = () => {
     const [editingWebAccess, setEditingWebAccess] = useState(null);
     const [error, setError] = useState('');
     const [loading, setLoading] = useState(false);
+    const [nextCursor, setNextCursor] = useState(null); // Opaque cursor to pass as ?after= for the next page
     // const [employees, setEmployees] = useState([]); // For employee dropdown
 
     const { register, handleSubmit, reset, setValue, formState: { errors: formErrors } } = useForm();
 
-    const fetchWebAccesses = useCallback(async () => {
-        setLoading(true);
+    const fetchWebAccesses = useCallback(async (after) => {
+        if (!after) setLoading(true); // Keep the current rows visible while loading more
         setError('');
         try {
-            const response = await AssetService.getAllWebAccesses();
-            setWebAccesses(response.data);
+            const response = await AssetService.getAllWebAccesses({ after });
+            const page = response.data;
+            setWebAccesses(prev => (after ? [...prev, ...page.items] : page.items));
+            setNextCursor(page.nextCursor);
         } catch (err) {
             setError('Failed to fetch web accesses. ' + (err.response?.data?.message || err.message));
             console.error(err);
@@ -158,6 +161,14 @@ const WebAccessPage = () => {
                 </Table>
             )}
 
+            {!loading && nextCursor && (
+                <div className="text-center mb-3">
+                    <Button variant="outline-primary" onClick={() => fetchWebAccesses(nextCursor)}>
+                        Load more
+                    </Button>
+                </div>
+            )}
+
             <Modal show={showModal} onHide={handleCloseModal} backdrop="static" keyboard={false}>
                 <Modal.Header closeButton>
                     <Modal.Title>{editingWebAccess ? 'Edit Web Access' : 'Add New Web Access'}</Modal.Title>
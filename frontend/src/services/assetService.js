@@ -14,8 +14,9 @@ const API_BASE_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api'
 // etc.
 
 // --- Employee Service ---
-const getAllEmployees = () => {
-    return axios.get(`${API_BASE_URL}/employees`, { headers: AuthService.authHeader() });
+// Keyset-paginated: resolves to { items, nextCursor }; pass nextCursor back as `after` for the next page
+const getAllEmployees = ({ after, limit } = {}) => {
+    return axios.get(`${API_BASE_URL}/employees`, { headers: AuthService.authHeader(), params: { after, limit } });
 };
 
 const getEmployeeById = (id) => {
@@ -34,9 +35,20 @@ const deleteEmployee = (id) => {
     return axios.delete(`${API_BASE_URL}/employees/${id}`, { headers: AuthService.authHeader() });
 };
 
+// Hardware, licenses and web accesses assigned to one employee, in a single call
+const getEmployeeAssets = (id) => {
+    return axios.get(`${API_BASE_URL}/employees/${id}/assets`, { headers: AuthService.authHeader() });
+};
+
+// Same as getEmployeeAssets, for the logged-in user
+const getMyAssets = () => {
+    return axios.get(`${API_BASE_URL}/me/assets`, { headers: AuthService.authHeader() });
+};
+
 // --- Hardware Service ---
-const getAllHardware = () => {
-    return axios.get(`${API_BASE_URL}/hardware`, { headers: AuthService.authHeader() });
+// Keyset-paginated: resolves to { items, nextCursor }; pass nextCursor back as `after` for the next page
+const getAllHardware = ({ after, limit } = {}) => {
+    return axios.get(`${API_BASE_URL}/hardware`, { headers: AuthService.authHeader(), params: { after, limit } });
 };
 
 const getHardwareById = (id) => {
@@ -56,8 +68,9 @@ const deleteHardware = (id) => {
 };
 
 // --- License Service ---
-const getAllLicenses = () => {
-    return axios.get(`${API_BASE_URL}/licenses`, { headers: AuthService.authHeader() });
+// Keyset-paginated: resolves to { items, nextCursor }; pass nextCursor back as `after` for the next page
+const getAllLicenses = ({ after, limit } = {}) => {
+    return axios.get(`${API_BASE_URL}/licenses`, { headers: AuthService.authHeader(), params: { after, limit } });
 };
 
 const getLicenseById = (id) => {
@@ -77,8 +90,9 @@ const deleteLicense = (id) => {
 };
 
 // --- Web Access Service ---
-const getAllWebAccesses = () => {
-    return axios.get(`${API_BASE_URL}/web-accesses`, { headers: AuthService.authHeader() });
+// Keyset-paginated: resolves to { items, nextCursor }; pass nextCursor back as `after` for the next page
+const getAllWebAccesses = ({ after, limit } = {}) => {
+    return axios.get(`${API_BASE_URL}/web-accesses`, { headers: AuthService.authHeader(), params: { after, limit } });
 };
 
 const getWebAccessById = (id) => {
@@ -104,6 +118,8 @@ export default {
     createEmployee,
     updateEmployee,
     deleteEmployee,
+    getEmployeeAssets,
+    getMyAssets,
     getAllHardware,
     getHardwareById,
     createHardware,